@@ -16,7 +16,13 @@
 package io.knotx.fragments.api;
 
 import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
 import org.apache.commons.lang3.StringUtils;
@@ -49,6 +55,15 @@ public class Fragment {
     this.payload = new JsonObject();
   }
 
+  private Fragment(Fragment origin) {
+    this.id = origin.id;
+    this.type = origin.type;
+    this.configuration = origin.configuration;
+    this.body = origin.body;
+    // shallow copy, nested values are shared until replaced
+    this.payload = new JsonObject(new LinkedHashMap<>(origin.payload.getMap()));
+  }
+
   public Fragment(JsonObject json) {
     this.id = json.getString(ID_KEY);
     this.type = json.getString(TYPE_KEY);
@@ -96,6 +111,29 @@ public class Fragment {
     return configuration.copy();
   }
 
+  /**
+   * Reads a single configuration entry without copying the whole configuration. JSON objects and
+   * arrays are copied, so the configuration stays immutable.
+   *
+   * @param key - a configuration key.
+   * @return configuration value or {@code null} if not present.
+   */
+  public Object getConfigurationValue(String key) {
+    return copyOf(configuration.getValue(key));
+  }
+
+  /**
+   * Read-only view of the configuration. Unlike {@link #getConfiguration()} it does not copy the
+   * configuration, so it is cheap for large configurations. Any attempt to modify view entries
+   * throws {@code UnsupportedOperationException}. Nested JSON objects and arrays are not copied
+   * either and must not be modified.
+   *
+   * @return read-only view of the configuration of a Fragment.
+   */
+  public JsonObject getConfigurationView() {
+    return readOnlyView(configuration);
+  }
+
   /**
    * Contains the body of a Fragment that is the final result of the fragment processing. Body can
    * be updated and transformed many times during processing.
@@ -121,6 +159,39 @@ public class Fragment {
     return payload.copy();
   }
 
+  /**
+   * Read-only view of the payload. Unlike {@link #getPayload()} it does not copy the payload, so it
+   * is cheap for large payloads. The view reflects later payload changes. Any attempt to modify
+   * view entries throws {@code UnsupportedOperationException}. Nested JSON objects and arrays are
+   * not copied either and must not be modified.
+   *
+   * @return read-only view of the additional data that is associated with the Fragment.
+   */
+  public JsonObject getPayloadView() {
+    return readOnlyView(payload);
+  }
+
+  /**
+   * Reads a single payload entry without copying the whole payload. JSON objects and arrays are
+   * copied, so the returned value can be safely modified or stored.
+   *
+   * @param key - a payload key.
+   * @return payload value or {@code null} if not present.
+   */
+  public Object getPayloadValue(String key) {
+    return copyOf(payload.getValue(key));
+  }
+
+  /**
+   * Checks if the payload contains the entry without copying the payload.
+   *
+   * @param key - a payload key.
+   * @return {@code true} if the payload contains the key.
+   */
+  public boolean containsPayloadKey(String key) {
+    return payload.containsKey(key);
+  }
+
   /**
    * Appends new entry int the Fragment's payload. Notice, that it may overwrite any existing info
    * in the payload, if the keys are identical.
@@ -156,6 +227,63 @@ public class Fragment {
     return this;
   }
 
+  /**
+   * Creates a fork of the Fragment that can be processed independently (e.g. in parallel with other
+   * forks). The fork shares the id, type and immutable configuration with the Fragment. Its payload
+   * is a shallow copy, so forking is cheap: payload entries can be appended and replaced in the fork
+   * without affecting the Fragment, but nested JSON values are shared and must not be modified in
+   * place. Forks are merged back with {@link #join(List)}.
+   *
+   * @return a fork of the Fragment.
+   */
+  public Fragment fork() {
+    return new Fragment(this);
+  }
+
+  /**
+   * Merges forks (see {@link #fork()}) back into the Fragment. Only payload entries appended or
+   * replaced in forks are merged. Forks are merged in the list order, so when many forks modify the
+   * same entry (or body), the last fork on the list wins, regardless of the processing order. The
+   * Fragment must not be modified between forking and joining.
+   *
+   * @param forks - forks of the Fragment in the merge order.
+   * @return a reference to this, so the API can be used fluently.
+   */
+  public Fragment join(List<Fragment> forks) {
+    Map<String, Object> origin = payload.getMap();
+    // all changes are collected against the origin first, as merging modifies the origin
+    List<Map<String, Object>> changes = new ArrayList<>(forks.size());
+    String joinedBody = body;
+    for (Fragment fork : forks) {
+      Map<String, Object> forkChanges = new LinkedHashMap<>();
+      fork.payload.getMap().forEach((key, value) -> {
+        if (!origin.containsKey(key) || origin.get(key) != value) {
+          forkChanges.put(key, value);
+        }
+      });
+      changes.add(forkChanges);
+      if (!Objects.equals(body, fork.body)) {
+        joinedBody = fork.body;
+      }
+    }
+    changes.forEach(origin::putAll);
+    body = joinedBody;
+    return this;
+  }
+
+  private static Object copyOf(Object value) {
+    if (value instanceof JsonObject) {
+      return ((JsonObject) value).copy();
+    } else if (value instanceof JsonArray) {
+      return ((JsonArray) value).copy();
+    }
+    return value;
+  }
+
+  private static JsonObject readOnlyView(JsonObject json) {
+    return new JsonObject(Collections.unmodifiableMap(json.getMap()));
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
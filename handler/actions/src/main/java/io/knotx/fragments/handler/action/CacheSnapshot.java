@@ -0,0 +1,133 @@
+/*
+ * Copyright (C) 2019 Knot.x Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.fragments.handler.action;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary snapshot of the in-memory cache values, so that a restarted instance starts with a warm
+ * cache. Each entry keeps its age, so values expire as if the cache was never restarted. The
+ * format is:
+ * <pre>
+ *   int magic, long snapshot time (epoch ms), int entries count, entries:
+ *     int key length, key (UTF-8), long value age (ms), int value length, value (JSON bytes)
+ * </pre>
+ */
+final class CacheSnapshot {
+
+  private static final int MAGIC = 0x4b435331;
+  private static final String TEMP_SUFFIX = ".tmp";
+
+  private CacheSnapshot() {
+    // util class
+  }
+
+  /**
+   * Writes values to the file. The snapshot is written to a unique temporary file first and then
+   * moved, so readers never see a partially written snapshot, even when many writers snapshot to
+   * the same file. It is a blocking operation.
+   *
+   * @param path - snapshot file
+   * @param values - cached values by key
+   * @return the number of written entries
+   */
+  static int write(Path path, Map<String, CachedValue> values) throws IOException {
+    // the map is weakly consistent, entries are copied so that their count is known upfront
+    List<Map.Entry<String, CachedValue>> entries = new ArrayList<>(values.entrySet());
+    Path directory = path.toAbsolutePath().getParent();
+    Files.createDirectories(directory);
+    Path temp = Files.createTempFile(directory, path.getFileName().toString(), TEMP_SUFFIX);
+    try {
+      try (OutputStream file = Files.newOutputStream(temp);
+          DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+        out.writeInt(MAGIC);
+        out.writeLong(System.currentTimeMillis());
+        out.writeInt(entries.size());
+        for (Map.Entry<String, CachedValue> entry : entries) {
+          writeEntry(out, entry.getKey(), entry.getValue());
+        }
+      }
+      Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+    return entries.size();
+  }
+
+  /**
+   * Reads the snapshot. The file is memory-mapped, so it is loaded without copying it to the
+   * heap first. It is a blocking operation.
+   *
+   * @param path - snapshot file
+   * @param consumer - consumes entries with their current age
+   * @return the number of read entries, zero when the snapshot does not exist
+   */
+  static int read(Path path, EntryConsumer consumer) throws IOException {
+    if (!Files.isRegularFile(path)) {
+      return 0;
+    }
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      if (buffer.getInt() != MAGIC) {
+        throw new IOException("File [" + path + "] is not a cache snapshot.");
+      }
+      long snapshotAge = Math.max(0, System.currentTimeMillis() - buffer.getLong());
+      int count = buffer.getInt();
+      for (int i = 0; i < count; i++) {
+        String key = new String(readBytes(buffer), StandardCharsets.UTF_8);
+        long ageMs = buffer.getLong() + snapshotAge;
+        consumer.accept(key, ageMs, readBytes(buffer));
+      }
+      return count;
+    }
+  }
+
+  private static void writeEntry(DataOutputStream out, String key, CachedValue value)
+      throws IOException {
+    byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+    byte[] valueBytes = value.toBytes();
+    out.writeInt(keyBytes.length);
+    out.write(keyBytes);
+    out.writeLong(value.getAgeMs());
+    out.writeInt(valueBytes.length);
+    out.write(valueBytes);
+  }
+
+  private static byte[] readBytes(MappedByteBuffer buffer) {
+    byte[] bytes = new byte[buffer.getInt()];
+    buffer.get(bytes);
+    return bytes;
+  }
+
+  @FunctionalInterface
+  interface EntryConsumer {
+
+    void accept(String key, long ageMs, byte[] value);
+  }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright (C) 2019 Knot.x Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.fragments.handler.action;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Value stored in the in-memory cache together with its write time. A value is kept either as the
+ * payload object or serialized to JSON bytes, that are decoded on every read.
+ */
+abstract class CachedValue {
+
+  private long writeTime = System.nanoTime();
+
+  static CachedValue of(Object value) {
+    return new ObjectValue(value);
+  }
+
+  /**
+   * @param value - JSON compatible payload value
+   * @return value copied on every read, so readers (e.g. running on different event loops) never
+   * share the same JSON object
+   */
+  static CachedValue copiedOnRead(Object value) {
+    return new CopiedOnReadValue(value);
+  }
+
+  /**
+   * @param value - JSON compatible payload value
+   * @param offHeap - when true, bytes are stored in a direct buffer, outside of the heap
+   * @return serialized value
+   */
+  static CachedValue serialized(Object value, boolean offHeap) {
+    byte[] bytes = encode(value);
+    return offHeap ? new DirectBufferValue(bytes) : new BytesValue(bytes);
+  }
+
+  abstract Object getValue();
+
+  /**
+   * @return the number of bytes the value occupies, zero when not known
+   */
+  abstract int getWeight();
+
+  /**
+   * @return the value serialized to JSON bytes, see {@link #decode(byte[])}
+   */
+  abstract byte[] toBytes();
+
+  long getAgeMs() {
+    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - writeTime);
+  }
+
+  /**
+   * Moves the write time back, e.g. for a value restored from a snapshot, so it expires as if it
+   * was never restored.
+   *
+   * @param ageMs - the age of the value
+   * @return a reference to this
+   */
+  CachedValue withAge(long ageMs) {
+    writeTime = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(ageMs);
+    return this;
+  }
+
+  static Object copy(Object value) {
+    if (value instanceof JsonObject) {
+      return ((JsonObject) value).copy();
+    } else if (value instanceof JsonArray) {
+      return ((JsonArray) value).copy();
+    }
+    return value;
+  }
+
+  static Object decode(byte[] bytes) {
+    return new JsonArray(Buffer.buffer(bytes)).getValue(0);
+  }
+
+  private static byte[] encode(Object value) {
+    // wrapping in an array makes any JSON value (also strings and numbers) serializable
+    return new JsonArray().add(value).toBuffer().getBytes();
+  }
+
+  private static class ObjectValue extends CachedValue {
+
+    private final Object value;
+
+    ObjectValue(Object value) {
+      this.value = value;
+    }
+
+    @Override
+    Object getValue() {
+      return value;
+    }
+
+    @Override
+    int getWeight() {
+      return 0;
+    }
+
+    @Override
+    byte[] toBytes() {
+      return encode(value);
+    }
+  }
+
+  private static class CopiedOnReadValue extends ObjectValue {
+
+    CopiedOnReadValue(Object value) {
+      super(value);
+    }
+
+    @Override
+    Object getValue() {
+      return copy(super.getValue());
+    }
+  }
+
+  private static class BytesValue extends CachedValue {
+
+    private final byte[] bytes;
+
+    BytesValue(byte[] bytes) {
+      this.bytes = bytes;
+    }
+
+    @Override
+    Object getValue() {
+      return decode(bytes);
+    }
+
+    @Override
+    int getWeight() {
+      return bytes.length;
+    }
+
+    @Override
+    byte[] toBytes() {
+      return bytes;
+    }
+  }
+
+  private static class DirectBufferValue extends CachedValue {
+
+    private final ByteBuffer buffer;
+
+    DirectBufferValue(byte[] bytes) {
+      buffer = ByteBuffer.allocateDirect(bytes.length);
+      buffer.put(bytes).flip();
+    }
+
+    @Override
+    Object getValue() {
+      return decode(toBytes());
+    }
+
+    @Override
+    byte[] toBytes() {
+      byte[] bytes = new byte[buffer.remaining()];
+      // duplicate has its own position, so concurrent reads do not interfere
+      buffer.duplicate().get(bytes);
+      return bytes;
+    }
+
+    @Override
+    int getWeight() {
+      return buffer.capacity();
+    }
+  }
+}
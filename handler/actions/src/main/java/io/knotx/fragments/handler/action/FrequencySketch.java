@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2019 Knot.x Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.fragments.handler.action;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Count-Min sketch estimating how often keys are accessed (TinyLFU style). Counters are small and
+ * saturate at 15, all of them are halved periodically, so the sketch follows changes of the
+ * popularity of keys. Every cache read increments counters, so they are updated with atomics
+ * instead of a lock shared by all event loops. Counts are estimates anyway, so increments racing
+ * with halving may be lost.
+ */
+class FrequencySketch {
+
+  private static final long[] SEEDS = {
+      0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+  private static final int MAX_COUNT = 15;
+  private static final int MIN_WIDTH = 16;
+  private static final int MAX_WIDTH = 1 << 30;
+  // the sketch is aged after this number of additions per counter in a row
+  private static final int RESET_MULTIPLIER = 10;
+
+  private final AtomicIntegerArray[] counters;
+  private final int mask;
+  private final long resetSize;
+  private final AtomicLong additions = new AtomicLong();
+  private final AtomicBoolean resetInProgress = new AtomicBoolean();
+
+  FrequencySketch(long expectedSize) {
+    int width = width(expectedSize);
+    this.counters = new AtomicIntegerArray[SEEDS.length];
+    for (int row = 0; row < SEEDS.length; row++) {
+      counters[row] = new AtomicIntegerArray(width);
+    }
+    this.mask = width - 1;
+    this.resetSize = (long) width * RESET_MULTIPLIER;
+  }
+
+  void increment(String key) {
+    int hash = spread(key.hashCode());
+    boolean added = false;
+    for (int row = 0; row < SEEDS.length; row++) {
+      added |= incrementCounter(counters[row], index(hash, row));
+    }
+    if (added && additions.incrementAndGet() >= resetSize) {
+      reset();
+    }
+  }
+
+  int frequency(String key) {
+    int hash = spread(key.hashCode());
+    int frequency = MAX_COUNT;
+    for (int row = 0; row < SEEDS.length; row++) {
+      frequency = Math.min(frequency, counters[row].get(index(hash, row)));
+    }
+    return frequency;
+  }
+
+  private static boolean incrementCounter(AtomicIntegerArray row, int index) {
+    int count;
+    do {
+      count = row.get(index);
+      if (count >= MAX_COUNT) {
+        return false;
+      }
+    } while (!row.compareAndSet(index, count, count + 1));
+    return true;
+  }
+
+  // only one thread halves counters, others keep counting in the meantime
+  private void reset() {
+    if (!resetInProgress.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      for (AtomicIntegerArray row : counters) {
+        for (int i = 0; i < row.length(); i++) {
+          row.getAndUpdate(i, count -> count >>> 1);
+        }
+      }
+      additions.updateAndGet(count -> count / 2);
+    } finally {
+      resetInProgress.set(false);
+    }
+  }
+
+  private int index(int hash, int row) {
+    long h = (hash + SEEDS[row]) * SEEDS[row];
+    h += h >>> 32;
+    return ((int) h) & mask;
+  }
+
+  private static int spread(int hash) {
+    int h = hash * 0x9e3779b9;
+    return h ^ (h >>> 16);
+  }
+
+  private static int width(long expectedSize) {
+    long size = Math.max(MIN_WIDTH, Math.min(MAX_WIDTH, expectedSize));
+    return Integer.highestOneBit((int) (size - 1)) << 1;
+  }
+}
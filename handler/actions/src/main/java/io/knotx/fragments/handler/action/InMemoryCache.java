@@ -0,0 +1,378 @@
+/*
+ * Copyright (C) 2019 Knot.x Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.fragments.handler.action;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+import io.knotx.fragments.handler.api.CacheDefinitions;
+import io.reactivex.subjects.SingleSubject;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.shareddata.LocalMap;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+import io.vertx.core.shareddata.Shareable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Payload values cache of in-memory cache actions. Besides values, it keeps loads in progress, so
+ * concurrent misses of the same key are collapsed. The cache is either private to an action or
+ * shared by name (see {@link CacheDefinitions}) between actions and verticle instances.
+ */
+class InMemoryCache implements Shareable {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(InMemoryCache.class);
+
+  private static final String SHARED_CACHES = "knotx.fragments.in-memory-caches";
+
+  private static final long DEFAULT_MAXIMUM_SIZE = 1000;
+  private static final long DEFAULT_TTL = 5000;
+  private static final long DEFAULT_STALE_WHILE_REVALIDATE = 0;
+  private static final long DEFAULT_REFRESH_AHEAD = 0;
+  private static final long DEFAULT_MAXIMUM_WEIGHT_BYTES = 0;
+  private static final int DEFAULT_CONCURRENCY_LEVEL = 4;
+
+  private static final long DEFAULT_SNAPSHOT_INTERVAL = 60000;
+
+  private static final String LRU_POLICY = "lru";
+  private static final String TINY_LFU_POLICY = "tiny-lfu";
+
+  private final Cache<String, CachedValue> cache;
+  private final Function<Object, CachedValue> valueFactory;
+  // values restored from a snapshot are older than Guava knows, so their age is checked on read
+  private final long expireAfterMs;
+  // values older than this are served, but refreshed in the background
+  private final long refreshAfterMs;
+  // null when values are admitted without conditions (LRU policy)
+  private final TinyLfuAdmission admission;
+  // loads in progress, concurrent misses of the same key wait for them instead of calling doAction
+  private final ConcurrentMap<String, SingleSubject<LoadResult>> pendingLoads =
+      new ConcurrentHashMap<>();
+  private final AtomicLong collapsedCalls = new AtomicLong();
+  // null when the cache is not snapshotted
+  private final JsonObject snapshotConfig;
+  // the configuration the cache is created from, a shared cache is recreated when it changes
+  private final JsonObject definition;
+  private final boolean shared;
+  private final Promise<Integer> restored = Promise.promise();
+  private volatile boolean snapshotsStopped;
+  private volatile long snapshotTimerId = -1;
+
+  private InMemoryCache(JsonObject config, boolean shared) {
+    JsonObject cacheConfig = config == null ? new JsonObject() : config;
+    this.definition = cacheConfig;
+    this.shared = shared;
+    this.expireAfterMs = cacheConfig.getLong("ttl", DEFAULT_TTL) + cacheConfig
+        .getLong("staleWhileRevalidate", DEFAULT_STALE_WHILE_REVALIDATE);
+    this.snapshotConfig = getSnapshotConfig(cacheConfig);
+    this.admission = createAdmission(cacheConfig);
+    this.cache = createCache(cacheConfig, admission);
+    this.valueFactory = getValueFactory(cacheConfig, shared);
+    this.refreshAfterMs = getRefreshAfter(cacheConfig);
+  }
+
+  /**
+   * Creates a cache used by a single action. Such caches are not snapshotted, every verticle
+   * instance has its own one and they would overwrite the same snapshot file.
+   *
+   * @param config - cache configuration, may be null
+   * @return cache
+   */
+  static InMemoryCache create(JsonObject config) {
+    InMemoryCache cache = new InMemoryCache(config, false);
+    if (cache.snapshotConfig != null) {
+      throw new IllegalArgumentException(
+          "Cache snapshot is supported only by named caches, use [cacheName] instead of [cache].");
+    }
+    cache.restored.complete(0);
+    return cache;
+  }
+
+  /**
+   * Returns the named cache shared by all actions referencing it in the Vert.x instance. The cache
+   * is created from its definition on the first use, and created again when the definition is
+   * registered with changes (e.g. a verticle is redeployed with a new configuration). Actions
+   * created before keep the previous cache. When the snapshot is configured, the cache is restored
+   * from it in the background and then periodically snapshotted.
+   *
+   * @param vertx - vertx instance
+   * @param name - cache name
+   * @return shared cache
+   */
+  static InMemoryCache shared(Vertx vertx, String name) {
+    JsonObject definition = CacheDefinitions.get(vertx, name).orElseThrow(
+        () -> new IllegalArgumentException("Cache [" + name + "] is not defined."));
+    LocalMap<String, InMemoryCache> caches = vertx.sharedData().getLocalMap(SHARED_CACHES);
+    InMemoryCache cache = caches.get(name);
+    if (cache != null && cache.definition.equals(definition)) {
+      return cache;
+    }
+    InMemoryCache created = new InMemoryCache(definition, true);
+    boolean registered = cache == null
+        ? caches.putIfAbsent(name, created) == null
+        : caches.replaceIfPresent(name, cache, created);
+    if (!registered) {
+      // registered concurrently by another verticle instance
+      return shared(vertx, name);
+    }
+    if (cache != null) {
+      cache.stopSnapshots(vertx);
+    }
+    // only the registered instance is snapshotted
+    return created.withSnapshots(vertx);
+  }
+
+  boolean isShared() {
+    return shared;
+  }
+
+  /**
+   * @return completes with the number of entries read when the snapshot is restored
+   */
+  Future<Integer> restored() {
+    return restored.future();
+  }
+
+  CachedValue getIfPresent(String key) {
+    if (admission != null) {
+      admission.record(key);
+    }
+    CachedValue value = cache.getIfPresent(key);
+    if (value != null && value.getAgeMs() >= expireAfterMs) {
+      cache.invalidate(key);
+      return null;
+    }
+    return value;
+  }
+
+  long size() {
+    return cache.size();
+  }
+
+  void put(String key, Object value) {
+    CachedValue cachedValue = valueFactory.apply(value);
+    if (admission == null || admission.admit(key, cachedValue, cache)) {
+      cache.put(key, cachedValue);
+    }
+  }
+
+  private InMemoryCache withSnapshots(Vertx vertx) {
+    if (snapshotConfig == null) {
+      restored.complete(0);
+      return this;
+    }
+    Path path = Paths.get(snapshotConfig.getString("path"));
+    restore(vertx, path).setHandler(result -> {
+      // the snapshot is not written before the restore ends, it would lose not yet restored values
+      snapshotTimerId = vertx.setPeriodic(
+          snapshotConfig.getLong("intervalMs", DEFAULT_SNAPSHOT_INTERVAL),
+          timerId -> snapshot(vertx, path));
+      // the cache may be replaced while its snapshot is restored
+      if (snapshotsStopped) {
+        vertx.cancelTimer(snapshotTimerId);
+      }
+      restored.handle(result);
+    });
+    return this;
+  }
+
+  private void stopSnapshots(Vertx vertx) {
+    snapshotsStopped = true;
+    if (snapshotTimerId >= 0) {
+      vertx.cancelTimer(snapshotTimerId);
+    }
+  }
+
+  // the snapshot is read by a worker thread, the cache serves requests (and misses) in the meantime
+  private Future<Integer> restore(Vertx vertx, Path path) {
+    Promise<Integer> result = Promise.promise();
+    vertx.<Integer>executeBlocking(promise -> {
+      try {
+        promise.complete(CacheSnapshot.read(path, this::restore));
+      } catch (IOException | RuntimeException e) {
+        promise.fail(e);
+      }
+    }, false, read -> {
+      if (read.succeeded()) {
+        LOGGER.info("Cache restored from snapshot [{}], [{}] entries read", path, read.result());
+        result.complete(read.result());
+      } else {
+        LOGGER.warn("Cache snapshot [{}] can not be restored, cache starts empty", read.cause(),
+            path);
+        result.complete(0);
+      }
+    });
+    return result.future();
+  }
+
+  private void restore(String key, long ageMs, byte[] value) {
+    // values loaded while the snapshot is read are fresher than the restored ones
+    if (ageMs >= expireAfterMs || cache.asMap().containsKey(key)) {
+      return;
+    }
+    CachedValue cachedValue = valueFactory.apply(CachedValue.decode(value)).withAge(ageMs);
+    if (admission == null || admission.admit(key, cachedValue, cache)) {
+      cache.put(key, cachedValue);
+    }
+  }
+
+  // the snapshot is written by a worker thread, off the event loop
+  private void snapshot(Vertx vertx, Path path) {
+    vertx.<Integer>executeBlocking(promise -> {
+      try {
+        promise.complete(CacheSnapshot.write(path, cache.asMap()));
+      } catch (IOException e) {
+        promise.fail(e);
+      }
+    }, false, result -> {
+      if (result.succeeded()) {
+        LOGGER.debug("Cache snapshot [{}] written, [{}] entries", path, result.result());
+      } else {
+        LOGGER.warn("Cache snapshot [{}] failed", result.cause(), path);
+      }
+    });
+  }
+
+  boolean isAged(CachedValue value) {
+    return value.getAgeMs() >= refreshAfterMs;
+  }
+
+  /**
+   * Registers the load of the key.
+   *
+   * @return the load already in progress or null when the passed load is registered
+   */
+  SingleSubject<LoadResult> putLoadIfAbsent(String key, SingleSubject<LoadResult> load) {
+    return pendingLoads.putIfAbsent(key, load);
+  }
+
+  void removeLoad(String key, SingleSubject<LoadResult> load) {
+    pendingLoads.remove(key, load);
+  }
+
+  /**
+   * @return the total number of collapsed calls, including this one
+   */
+  long collapsed() {
+    return collapsedCalls.incrementAndGet();
+  }
+
+  private static Cache<String, CachedValue> createCache(JsonObject config,
+      TinyLfuAdmission admission) {
+    long ttl = config.getLong("ttl", DEFAULT_TTL);
+    // stale values are kept, so they can be served while revalidated, up to the staleness bound
+    long staleWhileRevalidate = config
+        .getLong("staleWhileRevalidate", DEFAULT_STALE_WHILE_REVALIDATE);
+    long maxWeightBytes = config.getLong("maximumWeightBytes", DEFAULT_MAXIMUM_WEIGHT_BYTES);
+    CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder()
+        .concurrencyLevel(config.getInteger("concurrencyLevel", DEFAULT_CONCURRENCY_LEVEL))
+        .expireAfterWrite(ttl + staleWhileRevalidate, TimeUnit.MILLISECONDS);
+    if (maxWeightBytes > 0) {
+      builder.maximumWeight(maxWeightBytes)
+          .weigher((String key, CachedValue value) -> value.getWeight());
+    } else if (admission == null) {
+      builder.maximumSize(config.getLong("maximumSize", DEFAULT_MAXIMUM_SIZE));
+    } else {
+      // the size is bounded by the admission, which evicts entries itself
+      builder.removalListener(
+          (RemovalNotification<String, CachedValue> removal) -> admission.onRemoval(removal));
+    }
+    return builder.build();
+  }
+
+  private static JsonObject getSnapshotConfig(JsonObject config) {
+    JsonObject snapshot = config.getJsonObject("snapshot");
+    if (snapshot == null) {
+      return null;
+    }
+    if (StringUtils.isBlank(snapshot.getString("path"))) {
+      throw new IllegalArgumentException("Cache snapshot requires path value in configuration.");
+    }
+    return snapshot;
+  }
+
+  private static TinyLfuAdmission createAdmission(JsonObject config) {
+    String policy = config.getString("evictionPolicy", LRU_POLICY);
+    if (LRU_POLICY.equals(policy)) {
+      return null;
+    }
+    if (!TINY_LFU_POLICY.equals(policy)) {
+      throw new IllegalArgumentException("Unsupported cache eviction policy [" + policy + "].");
+    }
+    if (config.getLong("maximumWeightBytes", DEFAULT_MAXIMUM_WEIGHT_BYTES) > 0) {
+      throw new IllegalArgumentException(
+          "Eviction policy [" + TINY_LFU_POLICY + "] requires the cache bounded by maximumSize.");
+    }
+    return new TinyLfuAdmission(config.getLong("maximumSize", DEFAULT_MAXIMUM_SIZE));
+  }
+
+  // values are serialized when the cache is bounded by weight, so that their size is known
+  private static Function<Object, CachedValue> getValueFactory(JsonObject config,
+      boolean shared) {
+    if (config.getLong("maximumWeightBytes", DEFAULT_MAXIMUM_WEIGHT_BYTES) <= 0) {
+      // values of a shared cache are read by actions running on many event loops
+      return shared ? CachedValue::copiedOnRead : CachedValue::of;
+    }
+    boolean offHeap = config.getBoolean("offHeap", false);
+    return value -> CachedValue.serialized(value, offHeap);
+  }
+
+  private static long getRefreshAfter(JsonObject config) {
+    long staleWhileRevalidate = config
+        .getLong("staleWhileRevalidate", DEFAULT_STALE_WHILE_REVALIDATE);
+    long refreshAhead = config.getLong("refreshAhead", DEFAULT_REFRESH_AHEAD);
+    if (staleWhileRevalidate <= 0 && refreshAhead <= 0) {
+      return Long.MAX_VALUE;
+    }
+    return Math.max(0, config.getLong("ttl", DEFAULT_TTL) - Math.max(0, refreshAhead));
+  }
+
+  /**
+   * Result of the load shared with collapsed calls.
+   */
+  static class LoadResult {
+
+    private final Object value;
+    private final String transition;
+
+    LoadResult(Object value, String transition) {
+      this.value = value;
+      this.transition = transition;
+    }
+
+    /**
+     * @return loaded value or null when the load result is not cacheable
+     */
+    Object getValue() {
+      return value;
+    }
+
+    String getTransition() {
+      return transition;
+    }
+  }
+}
@@ -16,27 +16,33 @@
 package io.knotx.fragments.handler.action;
 
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 import io.knotx.fragments.api.Fragment;
+import io.knotx.fragments.handler.action.InMemoryCache.LoadResult;
 import io.knotx.fragments.handler.api.Action;
 import io.knotx.fragments.handler.api.ActionFactory;
 import io.knotx.fragments.handler.api.Cacheable;
+import io.knotx.fragments.handler.api.NonBlocking;
 import io.knotx.fragments.handler.api.actionlog.ActionLogLevel;
 import io.knotx.fragments.handler.api.actionlog.ActionLogger;
 import io.knotx.fragments.handler.api.domain.FragmentContext;
 import io.knotx.fragments.handler.api.domain.FragmentResult;
 import io.knotx.fragments.handler.action.helper.TimeCalculator;
-import io.knotx.server.api.context.ClientRequest;
 import io.knotx.server.common.placeholders.PlaceholdersResolver;
 import io.knotx.server.common.placeholders.SourceDefinitions;
 import io.reactivex.Maybe;
+import io.reactivex.Scheduler;
 import io.reactivex.Single;
+import io.reactivex.schedulers.Schedulers;
+import io.reactivex.subjects.SingleSubject;
 import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonObject;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+import io.vertx.reactivex.RxHelper;
 import java.time.Instant;
 import java.util.concurrent.TimeUnit;
 import org.apache.commons.lang3.StringUtils;
@@ -49,28 +55,44 @@ import org.apache.commons.lang3.StringUtils;
  *     config {
  *       cache {
  *         maximumSize = 1000
+ *         evictionPolicy = tiny-lfu
+ *         # or maximumWeightBytes = 10485760
  *         ttl = 5000
+ *         staleWhileRevalidate = 10000
+ *         refreshAhead = 1000
  *       }
+ *       # or cacheName = products
  *       cacheKey = product-{param.id}
  *       payloadKey = product
+ *       loadTimeoutMs = 30000
  *       logLevel = error
  *     }
  *   }
  * </pre>
+ * A cache defined in the handler {@code caches} options can be referenced with {@code cacheName}
+ * instead of the {@code cache} configuration. All actions referencing it share the values.
  */
 @Cacheable
+@NonBlocking
 public class InMemoryCacheActionFactory implements ActionFactory {
 
+  private static final Logger LOGGER = LoggerFactory.getLogger(InMemoryCacheActionFactory.class);
+
   private static final String CACHE_KEY = "cache_key";
   private static final String CACHED_VALUE = "cached_value";
   private static final String COMPUTED_VALUE = "computed_value";
   private static final String CACHE_MISS = "cache_miss";
   private static final String CACHE_HIT = "cache_hit";
   private static final String CACHE_PASS = "cache_pass";
+  private static final String CACHE_COLLAPSED = "cache_collapsed";
+  private static final String COLLAPSED_CALLS = "collapsed_calls";
+  private static final String CACHE_REFRESH = "cache_refresh";
+  private static final String CACHED_VALUE_AGE = "cached_value_age";
 
-  private static final long DEFAULT_MAXIMUM_SIZE = 1000;
-  private static final long DEFAULT_TTL = 5000;
+  private static final String PLACEHOLDER_PREFIX_PAYLOAD = "payload";
+  private static final String PLACEHOLDER_PREFIX_CONFIG = "config";
 
+  private static final long DEFAULT_LOAD_TIMEOUT_MS = 30000;
 
   @Override
   public String getName() {
@@ -81,18 +103,20 @@ public class InMemoryCacheActionFactory implements ActionFactory {
   public Action create(String alias, JsonObject config, Vertx vertx, Action doAction) {
 
     return new Action() {
-      private Cache<String, Object> cache = createCache(config);
+      private InMemoryCache cache = getCache(config, vertx);
       private String payloadKey = getPayloadKey(config);
+      private String cacheKeyTemplate = getCacheKeyTemplate(config);
+      private long loadTimeoutMs = getLoadTimeout(config);
       private ActionLogLevel logLevel = ActionLogLevel.fromConfig(config, ActionLogLevel.ERROR);
 
       @Override
       public void apply(FragmentContext fragmentContext,
           Handler<AsyncResult<FragmentResult>> resultHandler) {
         ActionLogger actionLogger = ActionLogger.create(alias, logLevel);
-        String cacheKey = getCacheKey(config, fragmentContext.getClientRequest());
+        String cacheKey = getCacheKey(cacheKeyTemplate, fragmentContext);
 
         getFromCache(fragmentContext, cacheKey, actionLogger)
-            .switchIfEmpty(callDoActionAndCache(fragmentContext, cacheKey, actionLogger))
+            .switchIfEmpty(Single.defer(() -> loadOnce(fragmentContext, cacheKey, actionLogger)))
             .map(Future::succeededFuture)
             .onErrorReturn(Future::failedFuture)
             .doOnSuccess(future -> future.setHandler(resultHandler))
@@ -103,14 +127,16 @@ public class InMemoryCacheActionFactory implements ActionFactory {
           ActionLogger actionLogger) {
         return Maybe.just(cacheKey)
             .flatMap(this::findInCache)
+            .doOnSuccess(cached -> refreshIfAged(fragmentContext, cacheKey, cached, actionLogger))
+            .map(CachedValue::getValue)
             .doOnSuccess(cachedValue -> logCacheHit(actionLogger, cacheKey, cachedValue))
             .map(cachedValue -> fragmentContext.getFragment()
                 .appendPayload(payloadKey, cachedValue))
             .map(fragment -> toResultWithLog(actionLogger, fragment));
       }
 
-      private Maybe<Object> findInCache(String key) {
-        Object cachedValue = cache.getIfPresent(key);
+      private Maybe<CachedValue> findInCache(String key) {
+        CachedValue cachedValue = cache.getIfPresent(key);
         if (cachedValue == null) {
           return Maybe.empty();
         } else {
@@ -118,6 +144,82 @@ public class InMemoryCacheActionFactory implements ActionFactory {
         }
       }
 
+      private Single<FragmentResult> loadOnce(FragmentContext fragmentContext, String cacheKey,
+          ActionLogger actionLogger) {
+        SingleSubject<LoadResult> load = SingleSubject.create();
+        SingleSubject<LoadResult> pending = cache.putLoadIfAbsent(cacheKey, load);
+        if (pending != null) {
+          logCacheCollapsed(actionLogger, cacheKey, cache.collapsed());
+          return onCallerContext(pending)
+              .map(loaded -> toCollapsedResult(actionLogger, fragmentContext, loaded));
+        }
+        return load(fragmentContext, cacheKey, actionLogger, load);
+      }
+
+      /**
+       * Calls doAction and shares its result with collapsed calls. The load is bounded by the
+       * request deadline and {@code loadTimeoutMs}, so a doAction that never ends fails the waiting
+       * calls and the next miss starts a new load, instead of blocking the key forever.
+       */
+      private Single<FragmentResult> load(FragmentContext fragmentContext, String cacheKey,
+          ActionLogger actionLogger, SingleSubject<LoadResult> load) {
+        long timeoutMs = Math.min(loadTimeoutMs, fragmentContext.getRemainingTimeMs());
+        // the value is cached before the load is removed, so no miss calls doAction in between
+        return callDoActionAndCache(fragmentContext, cacheKey, actionLogger)
+            .timeout(timeoutMs, TimeUnit.MILLISECONDS, timeoutScheduler())
+            .doOnEvent((fr, error) -> cache.removeLoad(cacheKey, load))
+            .doOnSuccess(fr -> load.onSuccess(toLoadResult(fr)))
+            .doOnError(load::onError);
+      }
+
+      /**
+       * Starts a single background refresh of the aged value. The refresh works on a fragment fork,
+       * so the current request is not affected and gets the cached value immediately.
+       */
+      private void refreshIfAged(FragmentContext fragmentContext, String cacheKey,
+          CachedValue cached, ActionLogger actionLogger) {
+        if (!cache.isAged(cached)) {
+          return;
+        }
+        SingleSubject<LoadResult> load = SingleSubject.create();
+        if (cache.putLoadIfAbsent(cacheKey, load) == null) {
+          logCacheRefresh(actionLogger, cacheKey, cached.getAgeMs());
+          FragmentContext refreshContext = new FragmentContext(
+              fragmentContext.getFragment().fork(), fragmentContext.getClientRequest());
+          load(refreshContext, cacheKey, ActionLogger.create(alias, logLevel), load)
+              .subscribe(
+                  fr -> LOGGER.debug("Cached value [{}] refreshed", cacheKey),
+                  error -> LOGGER.warn("Cached value [{}] refresh failed", error, cacheKey));
+        }
+      }
+
+      // the loaded value is shared with actions using the same cache, whatever their payload key
+      private LoadResult toLoadResult(FragmentResult fragmentResult) {
+        Object value = isCacheable(fragmentResult) ? getAppendedPayload(fragmentResult) : null;
+        return new LoadResult(value, fragmentResult.getTransition());
+      }
+
+      private FragmentResult toCollapsedResult(ActionLogger actionLogger,
+          FragmentContext fragmentContext, LoadResult loaded) {
+        Fragment fragment = fragmentContext.getFragment();
+        if (loaded.getValue() != null) {
+          // the loaded value is shared by all collapsed calls
+          fragment.appendPayload(payloadKey, CachedValue.copy(loaded.getValue()));
+        }
+        return new FragmentResult(fragment, loaded.getTransition(), actionLogger.toLog().toJson());
+      }
+
+      /**
+       * The load of a shared cache may end on the event loop of another verticle instance, so the
+       * result is delivered on the caller context.
+       */
+      private <T> Single<T> onCallerContext(Single<T> result) {
+        Context context = Vertx.currentContext();
+        return cache.isShared() && context != null
+            ? result.observeOn(RxHelper.scheduler(context))
+            : result;
+      }
+
       private Single<FragmentResult> callDoActionAndCache(FragmentContext fragmentContext,
           String cacheKey,
           ActionLogger actionLogger) {
@@ -143,13 +245,12 @@ public class InMemoryCacheActionFactory implements ActionFactory {
       private boolean isCacheable(FragmentResult fragmentResult) {
         return isSuccessTransition(fragmentResult)
             && fragmentResult.getFragment()
-            .getPayload()
-            .containsKey(payloadKey);
+            .containsPayloadKey(payloadKey);
       }
 
       private Object getAppendedPayload(FragmentResult fragmentResult) {
         return fragmentResult.getFragment()
-            .getPayload().getMap().get(payloadKey);
+            .getPayloadValue(payloadKey);
       }
 
       private FragmentResult toResultWithLog(ActionLogger actionLogger, Fragment fragment) {
@@ -174,29 +275,53 @@ public class InMemoryCacheActionFactory implements ActionFactory {
     return result;
   }
 
-  private String getCacheKey(JsonObject config, ClientRequest clientRequest) {
+  private String getCacheKeyTemplate(JsonObject config) {
     String key = config.getString("cacheKey");
     if (StringUtils.isBlank(key)) {
       throw new IllegalArgumentException("Action requires cacheKey value in configuration.");
     }
-    return PlaceholdersResolver.resolve(key, buildSourceDefinitions(clientRequest));
+    return key;
+  }
+
+  private long getLoadTimeout(JsonObject config) {
+    long loadTimeout = config.getLong("loadTimeoutMs", DEFAULT_LOAD_TIMEOUT_MS);
+    if (loadTimeout <= 0) {
+      throw new IllegalArgumentException("Action requires positive loadTimeoutMs value.");
+    }
+    return loadTimeout;
+  }
+
+  // the timeout is signalled on the caller context, outside of Vert.x (e.g. in tests) on RxJava one
+  private static Scheduler timeoutScheduler() {
+    Context context = Vertx.currentContext();
+    return context == null ? Schedulers.computation() : RxHelper.scheduler(context);
+  }
+
+  private String getCacheKey(String template, FragmentContext fragmentContext) {
+    if (!template.contains("{")) {
+      // no placeholders, nothing to resolve
+      return template;
+    }
+    return PlaceholdersResolver.resolve(template, buildSourceDefinitions(fragmentContext));
   }
 
-  private SourceDefinitions buildSourceDefinitions(ClientRequest clientRequest) {
+  // payload and configuration are read with views, so they are not copied
+  private SourceDefinitions buildSourceDefinitions(FragmentContext fragmentContext) {
     return SourceDefinitions.builder()
-        .addClientRequestSource(clientRequest)
+        .addClientRequestSource(fragmentContext.getClientRequest())
+        .addJsonObjectSource(fragmentContext.getFragment()
+            .getPayloadView(), PLACEHOLDER_PREFIX_PAYLOAD)
+        .addJsonObjectSource(fragmentContext.getFragment()
+            .getConfigurationView(), PLACEHOLDER_PREFIX_CONFIG)
         .build();
   }
 
-  private Cache<String, Object> createCache(JsonObject config) {
-    JsonObject cache = config.getJsonObject("cache");
-    long maxSize =
-        cache == null ? DEFAULT_MAXIMUM_SIZE : cache.getLong("maximumSize", DEFAULT_MAXIMUM_SIZE);
-    long ttl = cache == null ? DEFAULT_TTL : cache.getLong("ttl", DEFAULT_TTL);
-    return CacheBuilder.newBuilder()
-        .maximumSize(maxSize)
-        .expireAfterWrite(ttl, TimeUnit.MILLISECONDS)
-        .build();
+  private InMemoryCache getCache(JsonObject config, Vertx vertx) {
+    String cacheName = config.getString("cacheName");
+    if (StringUtils.isBlank(cacheName)) {
+      return InMemoryCache.create(config.getJsonObject("cache"));
+    }
+    return InMemoryCache.shared(vertx, cacheName);
   }
 
   private static boolean isSuccessTransition(FragmentResult fragmentResult) {
@@ -224,6 +349,17 @@ public class InMemoryCacheActionFactory implements ActionFactory {
         new JsonObject().put(CACHE_KEY, cacheKey).put(COMPUTED_VALUE, computedValue));
   }
 
+  private static void logCacheCollapsed(ActionLogger actionLogger, String cacheKey,
+      long collapsedCalls) {
+    actionLogger.info(CACHE_COLLAPSED,
+        new JsonObject().put(CACHE_KEY, cacheKey).put(COLLAPSED_CALLS, collapsedCalls));
+  }
+
+  private static void logCacheRefresh(ActionLogger actionLogger, String cacheKey, long age) {
+    actionLogger.info(CACHE_REFRESH,
+        new JsonObject().put(CACHE_KEY, cacheKey).put(CACHED_VALUE_AGE, age));
+  }
+
   private static void logCachePass(ActionLogger actionLogger, String cacheKey) {
     actionLogger.error(CACHE_PASS, new JsonObject().put(CACHE_KEY, cacheKey));
   }
@@ -18,6 +18,7 @@ package io.knotx.fragments.handler.action;
 import io.knotx.fragments.handler.api.Action;
 import io.knotx.fragments.handler.api.ActionFactory;
 import io.knotx.fragments.handler.api.Cacheable;
+import io.knotx.fragments.handler.api.NonBlocking;
 import io.knotx.fragments.handler.api.actionlog.ActionLogLevel;
 import io.knotx.fragments.handler.api.actionlog.ActionLogger;
 import io.knotx.fragments.handler.api.domain.FragmentContext;
@@ -42,6 +43,7 @@ import io.vertx.core.json.JsonObject;
  * WARNING: This action modifies Fragment body so it should not be used in subtasks nodes.
  */
 @Cacheable
+@NonBlocking
 public class InlineBodyActionFactory implements ActionFactory {
 
   private static final String ORIGINAL_BODY_KEY = "originalBody";
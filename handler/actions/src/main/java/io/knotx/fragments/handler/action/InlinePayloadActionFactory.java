@@ -19,6 +19,7 @@ import io.knotx.fragments.api.Fragment;
 import io.knotx.fragments.handler.api.Action;
 import io.knotx.fragments.handler.api.ActionFactory;
 import io.knotx.fragments.handler.api.Cacheable;
+import io.knotx.fragments.handler.api.NonBlocking;
 import io.knotx.fragments.handler.api.actionlog.ActionLogLevel;
 import io.knotx.fragments.handler.api.actionlog.ActionLogger;
 import io.knotx.fragments.handler.api.domain.FragmentContext;
@@ -30,6 +31,7 @@ import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonObject;
 
 @Cacheable
+@NonBlocking
 public class InlinePayloadActionFactory implements ActionFactory {
 
   private static final String ALIAS_KEY = "alias";
@@ -19,11 +19,13 @@ import io.knotx.fragments.handler.api.Knot;
 import io.knotx.fragments.handler.api.Action;
 import io.knotx.fragments.handler.api.ActionFactory;
 import io.knotx.fragments.handler.api.Cacheable;
+import io.knotx.fragments.handler.api.NonBlocking;
 import io.vertx.core.Vertx;
 import io.vertx.core.eventbus.DeliveryOptions;
 import io.vertx.core.json.JsonObject;
 
 @Cacheable
+@NonBlocking
 public class KnotFactory implements ActionFactory {
 
   @Override
@@ -21,6 +21,7 @@ import static io.vertx.core.Future.succeededFuture;
 import io.knotx.fragments.api.Fragment;
 import io.knotx.fragments.handler.api.Action;
 import io.knotx.fragments.handler.api.ActionFactory;
+import io.knotx.fragments.handler.api.NonBlocking;
 import io.knotx.fragments.handler.api.domain.FragmentResult;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
@@ -28,6 +29,7 @@ import io.vertx.core.json.JsonObject;
 import java.util.Objects;
 import java.util.Optional;
 
+@NonBlocking
 public class PayloadToBodyActionFactory implements ActionFactory {
 
   private static final String KEY = "key";
@@ -45,7 +47,7 @@ public class PayloadToBodyActionFactory implements ActionFactory {
       Fragment fragment = fragmentContext.getFragment();
       String payloadKey = Objects.nonNull(config) ? config.getString(KEY) : null;
 
-      FragmentResult result = getBodyFromPayload(payloadKey, fragment.getPayload())
+      FragmentResult result = getBodyFromPayload(payloadKey, fragment.getPayloadView())
           .map(body -> toFragmentResult(fragment, body))
           .orElse(new FragmentResult(fragment, FragmentResult.ERROR_TRANSITION));
 
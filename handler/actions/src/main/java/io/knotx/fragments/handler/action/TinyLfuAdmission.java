@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2019 Knot.x Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.fragments.handler.action;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.RemovalNotification;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * TinyLFU admission filter of a size bounded cache. When the cache is full, a new key is admitted
+ * only if it is accessed more often than the least frequent of randomly sampled entries, which is
+ * then evicted. So one-off keys do not evict popular ones. Guava does not expose its eviction
+ * victim, so admitted entries are tracked here to be sampled. Entries are tracked with their values,
+ * so a delayed removal of a replaced value (e.g. an expired one) does not untrack the current one.
+ */
+class TinyLfuAdmission {
+
+  private static final int VICTIM_SAMPLE_SIZE = 8;
+
+  private final FrequencySketch sketch;
+  private final long maximumSize;
+  private final List<String> keys = new ArrayList<>();
+  private final Map<String, Integer> positions = new HashMap<>();
+  private final Map<String, Object> values = new HashMap<>();
+
+  TinyLfuAdmission(long maximumSize) {
+    this.sketch = new FrequencySketch(maximumSize);
+    this.maximumSize = maximumSize;
+  }
+
+  void record(String key) {
+    sketch.increment(key);
+  }
+
+  /**
+   * Decides if the value is cached. When it is, the caller puts it to the cache.
+   *
+   * @param key - the key of the value
+   * @param value - the value to cache
+   * @param cache - the cache, the evicted victim is invalidated in it
+   * @return true when the value should be cached
+   */
+  synchronized boolean admit(String key, Object value, Cache<String, ?> cache) {
+    if (positions.containsKey(key)) {
+      values.put(key, value);
+      return true;
+    }
+    if (cache.size() >= maximumSize && !keys.isEmpty()) {
+      String victim = sampleVictim();
+      if (sketch.frequency(key) <= sketch.frequency(victim)) {
+        return false;
+      }
+      cache.invalidate(victim);
+    }
+    positions.put(key, keys.size());
+    keys.add(key);
+    values.put(key, value);
+    return true;
+  }
+
+  synchronized void onRemoval(RemovalNotification<String, ?> notification) {
+    String key = notification.getKey();
+    // the removed value was replaced (or expired and then replaced), the key is still cached
+    if (values.get(key) != notification.getValue()) {
+      return;
+    }
+    values.remove(key);
+    Integer position = positions.remove(key);
+    if (position != null) {
+      String last = keys.remove(keys.size() - 1);
+      if (position < keys.size()) {
+        keys.set(position, last);
+        positions.put(last, position);
+      }
+    }
+  }
+
+  private String sampleVictim() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    String victim = null;
+    int victimFrequency = Integer.MAX_VALUE;
+    for (int i = 0; i < VICTIM_SAMPLE_SIZE; i++) {
+      String candidate = keys.get(random.nextInt(keys.size()));
+      int frequency = sketch.frequency(candidate);
+      if (frequency < victimFrequency) {
+        victim = candidate;
+        victimFrequency = frequency;
+      }
+    }
+    return victim;
+  }
+}
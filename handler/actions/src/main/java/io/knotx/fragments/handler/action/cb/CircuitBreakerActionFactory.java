@@ -22,6 +22,7 @@ import io.knotx.fragments.handler.action.exception.DoActionNotDefinedException;
 import io.knotx.fragments.handler.api.Action;
 import io.knotx.fragments.handler.api.ActionFactory;
 import io.knotx.fragments.handler.api.Cacheable;
+import io.knotx.fragments.handler.api.NonBlocking;
 import io.vertx.circuitbreaker.CircuitBreaker;
 import io.vertx.circuitbreaker.impl.CircuitBreakerImpl;
 import io.vertx.core.Vertx;
@@ -32,6 +33,7 @@ import io.vertx.core.json.JsonObject;
  * the `doAction` action against overloading when it does not respond on time. If t
  */
 @Cacheable
+@NonBlocking
 public class CircuitBreakerActionFactory implements ActionFactory {
 
   static final String FALLBACK_TRANSITION = "_fallback";
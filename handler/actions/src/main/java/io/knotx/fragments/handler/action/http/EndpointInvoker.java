@@ -39,30 +39,48 @@ class EndpointInvoker {
   private final HttpActionOptions httpActionOptions;
   private final ResponsePredicatesProvider predicatesProvider = new ResponsePredicatesProvider();
   private final boolean isJsonPredicate;
+  private final HttpMethod httpMethod;
 
   EndpointInvoker(WebClient webClient, HttpActionOptions httpActionOptions) {
     this.webClient = webClient;
     this.httpActionOptions = httpActionOptions;
+    this.httpMethod = HttpMethod.valueOf(httpActionOptions.getHttpMethod());
     this.isJsonPredicate = httpActionOptions.getResponseOptions().getPredicates().contains(JSON);
   }
 
-  Single<HttpResponse<Buffer>> invokeEndpoint(EndpointRequest request) {
+  Single<HttpResponse<Buffer>> invokeEndpoint(EndpointRequest request, long remainingTimeMs) {
     return Single.just(request)
-        .map(this::createHttpRequest)
+        .map(endpointRequest -> createHttpRequest(endpointRequest, remainingTimeMs))
         .doOnSuccess(this::addPredicates)
-        .flatMap(HttpRequest::rxSend);
+        .flatMap(httpRequest -> send(httpRequest, request.getBody()));
   }
 
-  private HttpRequest<Buffer> createHttpRequest(EndpointRequest endpointRequest) {
+  private Single<HttpResponse<Buffer>> send(HttpRequest<Buffer> httpRequest, Buffer body) {
+    return body == null ? httpRequest.rxSend() : httpRequest.rxSendBuffer(body);
+  }
+
+  private HttpRequest<Buffer> createHttpRequest(EndpointRequest endpointRequest,
+      long remainingTimeMs) {
     return webClient
-        .request(HttpMethod.GET,
+        .request(httpMethod,
             httpActionOptions.getEndpointOptions().getPort(),
             httpActionOptions.getEndpointOptions().getDomain(),
             endpointRequest.getPath())
-        .timeout(httpActionOptions.getRequestTimeoutMs())
+        .timeout(getTimeout(remainingTimeMs))
         .putHeaders(endpointRequest.getHeaders());
   }
 
+  // the request timeout never exceeds the time left to the processing deadline
+  private long getTimeout(long remainingTimeMs) {
+    long requestTimeoutMs = httpActionOptions.getRequestTimeoutMs();
+    if (remainingTimeMs == Long.MAX_VALUE) {
+      return requestTimeoutMs;
+    }
+    // zero disables the timeout, so at least 1 ms is used
+    long deadlineTimeoutMs = Math.max(1L, remainingTimeMs);
+    return requestTimeoutMs > 0 ? Math.min(requestTimeoutMs, deadlineTimeoutMs) : deadlineTimeoutMs;
+  }
+
   private void addPredicates(HttpRequest<Buffer> request) {
     if (isJsonPredicate) {
       request.expect(IS_JSON_RESPONSE);
@@ -16,13 +16,16 @@
 package io.knotx.fragments.handler.action.http;
 
 import io.knotx.fragments.api.Fragment;
+import io.knotx.fragments.handler.action.http.HttpResponseCache.CachedResponse;
 import io.knotx.fragments.handler.action.http.log.HttpActionLogger;
 import io.knotx.fragments.handler.action.http.options.EndpointOptions;
 import io.knotx.fragments.handler.action.http.options.HttpActionOptions;
+import io.knotx.fragments.handler.action.http.request.EndpointRequest;
 import io.knotx.fragments.handler.action.http.request.EndpointRequestComposer;
 import io.knotx.fragments.handler.action.http.response.EndpointResponse;
 import io.knotx.fragments.handler.action.http.response.EndpointResponseProcessor;
 import io.knotx.fragments.handler.api.Action;
+import io.knotx.fragments.handler.api.Deduplicable;
 import io.knotx.fragments.handler.api.actionlog.ActionLogLevel;
 import io.knotx.fragments.handler.api.domain.FragmentContext;
 import io.knotx.fragments.handler.api.domain.FragmentResult;
@@ -33,14 +36,17 @@ import io.reactivex.exceptions.Exceptions;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.http.HttpMethod;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 import io.vertx.reactivex.ext.web.client.WebClient;
+import java.util.Optional;
 import java.util.concurrent.TimeoutException;
 
-public class HttpAction implements Action {
+public class HttpAction implements Action, Deduplicable {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(HttpAction.class);
+  private static final String COMPOSED_REQUEST_KEY_PREFIX = "http-action-request:";
 
   private final String actionAlias;
   private final String httpMethod;
@@ -49,6 +55,8 @@ public class HttpAction implements Action {
   private final EndpointRequestComposer requestComposer;
   private final EndpointInvoker endpointInvoker;
   private final EndpointResponseProcessor responseProcessor;
+  // null when responses are not cached
+  private final HttpResponseCache responseCache;
 
   HttpAction(WebClient webClient, HttpActionOptions httpActionOptions, String actionAlias) {
     this.endpointOptions = httpActionOptions.getEndpointOptions();
@@ -59,6 +67,11 @@ public class HttpAction implements Action {
     this.requestComposer = new EndpointRequestComposer(endpointOptions);
     this.responseProcessor = new EndpointResponseProcessor(httpActionOptions.getResponseOptions());
     this.httpMethod = httpActionOptions.getHttpMethod();
+    // only responses of safe requests are cached
+    this.responseCache = Optional.ofNullable(httpActionOptions.getResponseCache())
+        .filter(options -> isSafeMethod())
+        .map(HttpResponseCache::new)
+        .orElse(null);
   }
 
   @Override
@@ -71,24 +84,115 @@ public class HttpAction implements Action {
         .subscribe();
   }
 
+  /**
+   * {@code GET} requests to the same endpoint with the same resolved path and headers are executed
+   * once per client request. Requests with other methods may change the endpoint state, so they are
+   * never deduplicated. The composed request is kept in the request scope, so the invocation with
+   * the same context does not compose it again.
+   */
+  @Override
+  public Optional<String> getDeduplicationKey(FragmentContext fragmentContext) {
+    if (!isSafeMethod()) {
+      return Optional.empty();
+    }
+    EndpointRequest request = requestComposer.createEndpointRequest(fragmentContext);
+    fragmentContext.getRequestScope().computeIfAbsent(composedRequestKey(fragmentContext),
+        key -> new ComposedRequest(fragmentContext.getFragment(), request));
+    return Optional.of(requestKey(request));
+  }
+
+  private boolean isSafeMethod() {
+    return HttpMethod.GET.name().equals(httpMethod);
+  }
+
   private Single<FragmentResult> process(FragmentContext fragmentContext) {
     HttpActionLogger httpActionLogger = HttpActionLogger
         .create(actionAlias, logLevel, endpointOptions, httpMethod);
     return Single.just(fragmentContext)
-        .map(requestComposer::createEndpointRequest)
+        .map(this::composeRequest)
         .doOnSuccess(httpActionLogger::onRequestCreation)
-        .flatMap(
-            request -> endpointInvoker.invokeEndpoint(request)
-                .doOnSuccess(httpActionLogger::onRequestSucceeded)
-                .doOnError(httpActionLogger::onRequestFailed)
-                .map(EndpointResponse::fromHttpResponse)
-                .onErrorReturn(HttpAction::handleTimeout)
-                .map(response -> responseProcessor.handleResponse(request, response, httpActionLogger)))
+        .flatMap(request -> fetch(request, fragmentContext.getRemainingTimeMs(), httpActionLogger))
         .map(result -> composeFragmentResult(fragmentContext.getFragment(), result, httpActionLogger))
         .doOnError(httpActionLogger::onDifferentError)
         .onErrorReturn(error -> errorTransition(fragmentContext, httpActionLogger));
   }
 
+  private Single<HttpActionResult> fetch(EndpointRequest request, long remainingTimeMs,
+      HttpActionLogger httpActionLogger) {
+    if (responseCache == null) {
+      return invoke(request, remainingTimeMs, httpActionLogger)
+          .map(response -> responseProcessor.handleResponse(request, response, httpActionLogger));
+    }
+    String key = requestKey(request);
+    Optional<CachedResponse> cached = responseCache.get(key);
+    if (cached.isPresent() && cached.get().isFresh()) {
+      httpActionLogger.onResponseCacheHit();
+      return Single.just(cached.get().toResult());
+    }
+    EndpointRequest sentRequest = cached.map(response -> response.toConditionalRequest(request))
+        .orElse(request);
+    return invoke(sentRequest, remainingTimeMs, httpActionLogger)
+        .map(response -> cached.isPresent()
+            ? revalidate(key, cached.get(), request, response, httpActionLogger)
+            : processAndCache(key, request, response, httpActionLogger));
+  }
+
+  // a failed revalidation says nothing about the cached response, so it is kept for next requests
+  private HttpActionResult revalidate(String key, CachedResponse cached, EndpointRequest request,
+      EndpointResponse response, HttpActionLogger httpActionLogger) {
+    if (HttpResponseCache.isNotModified(response)) {
+      return toRevalidatedResult(key, cached, response, httpActionLogger);
+    }
+    if (HttpResponseCache.isFailed(response)) {
+      return responseProcessor.handleResponse(request, response, httpActionLogger);
+    }
+    return processAndCache(key, request, response, httpActionLogger);
+  }
+
+  private Single<EndpointResponse> invoke(EndpointRequest request, long remainingTimeMs,
+      HttpActionLogger httpActionLogger) {
+    return endpointInvoker.invokeEndpoint(request, remainingTimeMs)
+        .doOnSuccess(httpActionLogger::onRequestSucceeded)
+        .doOnError(httpActionLogger::onRequestFailed)
+        .map(EndpointResponse::fromHttpResponse)
+        .onErrorReturn(HttpAction::handleTimeout);
+  }
+
+  private HttpActionResult toRevalidatedResult(String key, CachedResponse cached,
+      EndpointResponse notModified, HttpActionLogger httpActionLogger) {
+    httpActionLogger.onResponseCacheRevalidated();
+    return responseCache.revalidate(key, cached, notModified).toResult();
+  }
+
+  private HttpActionResult processAndCache(String key, EndpointRequest request,
+      EndpointResponse response, HttpActionLogger httpActionLogger) {
+    HttpActionResult result = responseProcessor.handleResponse(request, response, httpActionLogger);
+    responseCache.store(key, response, result);
+    return result;
+  }
+
+  // the request composed for the deduplication key of the same fragment instance is reused
+  private EndpointRequest composeRequest(FragmentContext fragmentContext) {
+    return fragmentContext.getRequestScope()
+        .<ComposedRequest>remove(composedRequestKey(fragmentContext))
+        .filter(composed -> composed.fragment == fragmentContext.getFragment())
+        .map(composed -> composed.request)
+        .orElseGet(() -> requestComposer.createEndpointRequest(fragmentContext));
+  }
+
+  private String composedRequestKey(FragmentContext fragmentContext) {
+    return COMPOSED_REQUEST_KEY_PREFIX + actionAlias + "@"
+        + System.identityHashCode(fragmentContext.getFragment());
+  }
+
+  // the resolved path and headers identify the endpoint response
+  private String requestKey(EndpointRequest request) {
+    StringBuilder key = new StringBuilder(httpMethod).append(' ').append(request.getPath());
+    request.getHeaders().getDelegate().entries().forEach(
+        header -> key.append('\n').append(header.getKey()).append(": ").append(header.getValue()));
+    return key.toString();
+  }
+
   private FragmentResult composeFragmentResult(Fragment fragment, HttpActionResult result, HttpActionLogger httpActionLogger) {
     fragment.appendPayload(actionAlias, result.getActionPayload().toJson());
     return new FragmentResult(fragment, result.getTransition(), httpActionLogger.getJsonNodeLog());
@@ -108,6 +212,17 @@ public class HttpAction implements Action {
     throw Exceptions.propagate(throwable);
   }
 
+  private static class ComposedRequest {
+
+    private final Fragment fragment;
+    private final EndpointRequest request;
+
+    ComposedRequest(Fragment fragment, EndpointRequest request) {
+      this.fragment = fragment;
+      this.request = request;
+    }
+  }
+
   public static class HttpActionResult {
     private ActionPayload actionPayload;
     private String transition;
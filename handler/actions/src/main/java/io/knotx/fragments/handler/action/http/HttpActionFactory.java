@@ -20,11 +20,13 @@ import io.knotx.fragments.handler.action.http.options.HttpActionOptions;
 import io.knotx.fragments.handler.api.Action;
 import io.knotx.fragments.handler.api.ActionFactory;
 import io.knotx.fragments.handler.api.Cacheable;
+import io.knotx.fragments.handler.api.NonBlocking;
 import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonObject;
 import io.vertx.reactivex.ext.web.client.WebClient;
 
 @Cacheable
+@NonBlocking
 public class HttpActionFactory implements ActionFactory {
 
   private final WebClientCache webClientCache = new WebClientCache();
@@ -46,6 +48,9 @@ public class HttpActionFactory implements ActionFactory {
 
     switch (options.getHttpMethod()) {
       case "GET":
+      case "POST":
+      case "PUT":
+      case "PATCH":
         return new HttpAction(webClient, options, alias);
       default:
         throw new ActionConfigurationException(alias,
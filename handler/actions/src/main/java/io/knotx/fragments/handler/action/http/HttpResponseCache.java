@@ -0,0 +1,240 @@
+/*
+ * Copyright (C) 2019 Knot.x Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.fragments.handler.action.http;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.knotx.fragments.handler.action.http.HttpAction.HttpActionResult;
+import io.knotx.fragments.handler.action.http.options.HttpCacheOptions;
+import io.knotx.fragments.handler.action.http.request.EndpointRequest;
+import io.knotx.fragments.handler.action.http.response.EndpointResponse;
+import io.knotx.fragments.handler.api.domain.FragmentResult;
+import io.knotx.fragments.handler.api.domain.payload.ActionPayload;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.vertx.core.json.JsonObject;
+import io.vertx.reactivex.core.MultiMap;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Cache of processed endpoint responses following HTTP caching semantics. A response is fresh for
+ * the lifetime declared by the endpoint ({@code Cache-Control: s-maxage / max-age} or {@code
+ * Expires}). A stale response with validators ({@code ETag}, {@code Last-Modified}) is revalidated
+ * with a conditional request, and {@code 304 Not Modified} reuses the processed payload, so the body
+ * is neither transferred nor parsed again. When the revalidation fails (timeout or server error), the
+ * cached response is kept. The cache is shared by users, so {@code private} and
+ * {@code no-store} responses are not stored.
+ */
+class HttpResponseCache {
+
+  private static final String NO_STORE = "no-store";
+  private static final String NO_CACHE = "no-cache";
+  private static final String PRIVATE = "private";
+  private static final String MAX_AGE = "max-age";
+  private static final String S_MAXAGE = "s-maxage";
+  private static final String VARY_ALL = "*";
+  private static final long NOT_STORABLE = -1L;
+
+  private final Cache<String, CachedResponse> cache;
+
+  HttpResponseCache(HttpCacheOptions options) {
+    this.cache = CacheBuilder.newBuilder()
+        .maximumSize(options.getMaximumSize())
+        .build();
+  }
+
+  Optional<CachedResponse> get(String key) {
+    return Optional.ofNullable(cache.getIfPresent(key));
+  }
+
+  /**
+   * Stores the successful response when the endpoint allows it, otherwise the previously cached
+   * response is removed.
+   */
+  void store(String key, EndpointResponse response, HttpActionResult result) {
+    MultiMap headers = response.getHeaders();
+    long freshnessMs = freshnessMs(headers);
+    String etag = headers.get(HttpHeaderNames.ETAG);
+    String lastModified = headers.get(HttpHeaderNames.LAST_MODIFIED);
+    boolean revalidable = etag != null || lastModified != null;
+    if (isStorable(response, result) && (freshnessMs > 0 || (freshnessMs == 0 && revalidable))) {
+      // copied, the processed payload is appended to the fragment and may be modified
+      cache.put(key, new CachedResponse(result.getActionPayload().toJson().copy(), etag,
+          lastModified, freshnessMs));
+    } else {
+      cache.invalidate(key);
+    }
+  }
+
+  /**
+   * Refreshes the cached response confirmed by {@code 304 Not Modified}. When the {@code 304}
+   * carries no freshness information ({@code Cache-Control} or {@code Expires}), the lifetime of the
+   * stored response still applies.
+   *
+   * @return the refreshed response
+   */
+  CachedResponse revalidate(String key, CachedResponse cached, EndpointResponse notModified) {
+    MultiMap headers = notModified.getHeaders();
+    long freshnessMs = hasFreshnessInformation(headers) ? freshnessMs(headers) : cached.lifetimeMs;
+    CachedResponse refreshed = new CachedResponse(cached.payload,
+        StringUtils.defaultIfEmpty(headers.get(HttpHeaderNames.ETAG), cached.etag),
+        StringUtils.defaultIfEmpty(headers.get(HttpHeaderNames.LAST_MODIFIED),
+            cached.lastModified), Math.max(0, freshnessMs));
+    if (freshnessMs == NOT_STORABLE) {
+      cache.invalidate(key);
+    } else {
+      cache.put(key, refreshed);
+    }
+    return refreshed;
+  }
+
+  static boolean isNotModified(EndpointResponse response) {
+    return HttpResponseStatus.NOT_MODIFIED.equals(response.getStatusCode());
+  }
+
+  /**
+   * @return true when the endpoint did not answer (timeout) or failed with a server error, so the
+   * response does not replace the cached one
+   */
+  static boolean isFailed(EndpointResponse response) {
+    HttpResponseStatus status = response.getStatusCode();
+    return HttpResponseStatus.REQUEST_TIMEOUT.equals(status) || status.code() >= 500;
+  }
+
+  private static boolean hasFreshnessInformation(MultiMap headers) {
+    return headers.get(HttpHeaderNames.CACHE_CONTROL) != null
+        || headers.get(HttpHeaderNames.EXPIRES) != null;
+  }
+
+  private static boolean isStorable(EndpointResponse response, HttpActionResult result) {
+    return HttpResponseStatus.OK.equals(response.getStatusCode())
+        && FragmentResult.SUCCESS_TRANSITION.equals(result.getTransition())
+        && !VARY_ALL.equals(StringUtils.trim(response.getHeaders().get(HttpHeaderNames.VARY)));
+  }
+
+  /**
+   * @return the response lifetime in milliseconds, zero when it must be revalidated on every use
+   * or {@link #NOT_STORABLE}
+   */
+  private static long freshnessMs(MultiMap headers) {
+    long maxAge = -1;
+    long sharedMaxAge = -1;
+    boolean noCache = false;
+    String cacheControl = headers.get(HttpHeaderNames.CACHE_CONTROL);
+    if (cacheControl != null) {
+      for (String directive : cacheControl.split(",")) {
+        String[] nameValue = directive.trim().split("=", 2);
+        String name = nameValue[0].trim().toLowerCase(Locale.ROOT);
+        if (NO_STORE.equals(name) || PRIVATE.equals(name)) {
+          return NOT_STORABLE;
+        } else if (NO_CACHE.equals(name)) {
+          noCache = true;
+        } else if (MAX_AGE.equals(name) && nameValue.length > 1) {
+          maxAge = toSeconds(nameValue[1]);
+        } else if (S_MAXAGE.equals(name) && nameValue.length > 1) {
+          sharedMaxAge = toSeconds(nameValue[1]);
+        }
+      }
+    }
+    if (noCache) {
+      return 0;
+    }
+    // the shared cache lifetime takes precedence over the lifetime for private caches
+    long lifetimeSeconds = sharedMaxAge >= 0 ? sharedMaxAge : maxAge;
+    if (lifetimeSeconds >= 0) {
+      long age = Math.max(0, toSeconds(headers.get(HttpHeaderNames.AGE)));
+      return TimeUnit.SECONDS.toMillis(Math.max(0, lifetimeSeconds - age));
+    }
+    return expiresFreshnessMs(headers);
+  }
+
+  private static long expiresFreshnessMs(MultiMap headers) {
+    String expires = headers.get(HttpHeaderNames.EXPIRES);
+    if (expires == null) {
+      return 0;
+    }
+    try {
+      ZonedDateTime expiresTime = parseDate(expires);
+      String date = headers.get(HttpHeaderNames.DATE);
+      ZonedDateTime now = date == null ? ZonedDateTime.now() : parseDate(date);
+      return Math.max(0, expiresTime.toInstant().toEpochMilli() - now.toInstant().toEpochMilli());
+    } catch (DateTimeParseException e) {
+      // invalid dates (e.g. "0") mean already expired
+      return 0;
+    }
+  }
+
+  private static ZonedDateTime parseDate(String value) {
+    return ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+  }
+
+  private static long toSeconds(String value) {
+    try {
+      return value == null ? -1 : Long.parseLong(StringUtils.strip(value.trim(), "\""));
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
+  static class CachedResponse {
+
+    private final JsonObject payload;
+    private final String etag;
+    private final String lastModified;
+    // the lifetime declared by the endpoint, applied again when the response is revalidated
+    private final long lifetimeMs;
+    private final long expiresAt;
+
+    private CachedResponse(JsonObject payload, String etag, String lastModified,
+        long freshnessMs) {
+      this.payload = payload;
+      this.etag = etag;
+      this.lastModified = lastModified;
+      this.lifetimeMs = freshnessMs;
+      this.expiresAt = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(freshnessMs);
+    }
+
+    boolean isFresh() {
+      return System.nanoTime() - expiresAt < 0;
+    }
+
+    /**
+     * @return the request with validators of the cached response
+     */
+    EndpointRequest toConditionalRequest(EndpointRequest request) {
+      MultiMap headers = MultiMap.caseInsensitiveMultiMap().addAll(request.getHeaders());
+      if (etag != null) {
+        headers.set(HttpHeaderNames.IF_NONE_MATCH.toString(), etag);
+      }
+      if (lastModified != null) {
+        headers.set(HttpHeaderNames.IF_MODIFIED_SINCE.toString(), lastModified);
+      }
+      return new EndpointRequest(request.getPath(), headers);
+    }
+
+    // the payload is copied, so cached responses are not modified by fragments processing
+    HttpActionResult toResult() {
+      return new HttpActionResult(new ActionPayload(payload.copy()),
+          FragmentResult.SUCCESS_TRANSITION);
+    }
+  }
+}
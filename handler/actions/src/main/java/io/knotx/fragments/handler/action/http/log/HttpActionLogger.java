@@ -22,10 +22,12 @@ import io.knotx.fragments.handler.api.actionlog.ActionLogLevel;
 import io.vertx.core.json.JsonObject;
 import io.vertx.reactivex.core.buffer.Buffer;
 import io.vertx.reactivex.ext.web.client.HttpResponse;
-import org.apache.commons.lang3.StringUtils;
 
 public class HttpActionLogger {
 
+  private static final String RESPONSE_CACHE_HIT = "hit";
+  private static final String RESPONSE_CACHE_REVALIDATED = "revalidated";
+
   private HttpActionNodeLogger httpActionNodeLogger;
   private EndpointOptions endpointOptions;
   private String httpMethod;
@@ -91,7 +93,15 @@ public class HttpActionLogger {
   }
 
   private void logResponseBody() {
-    httpActionNodeLogger.logResponseBody(httpResponseBody != null ? httpResponseBody.toString() : StringUtils.EMPTY);
+    httpActionNodeLogger.logResponseBody(httpResponseBody);
+  }
+
+  public void onResponseCacheHit() {
+    httpActionNodeLogger.logResponseCache(RESPONSE_CACHE_HIT);
+  }
+
+  public void onResponseCacheRevalidated() {
+    httpActionNodeLogger.logResponseCache(RESPONSE_CACHE_REVALIDATED);
   }
 
   public void onDifferentError(Throwable throwable) {
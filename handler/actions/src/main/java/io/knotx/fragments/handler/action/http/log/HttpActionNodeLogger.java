@@ -18,21 +18,26 @@ package io.knotx.fragments.handler.action.http.log;
 import io.knotx.fragments.handler.api.actionlog.ActionLogLevel;
 import io.knotx.fragments.handler.api.actionlog.ActionLogger;
 import io.vertx.core.json.JsonObject;
+import io.vertx.reactivex.core.buffer.Buffer;
+import org.apache.commons.lang3.StringUtils;
 
 class HttpActionNodeLogger {
 
   private static final String REQUEST = "request";
   private static final String RESPONSE = "response";
   private static final String RESPONSE_BODY = "responseBody";
+  private static final String RESPONSE_CACHE = "responseCache";
 
   private ActionLogger actionLogger;
+  private ActionLogLevel actionLogLevel;
 
-  private HttpActionNodeLogger(ActionLogger actionLogger) {
+  private HttpActionNodeLogger(ActionLogger actionLogger, ActionLogLevel actionLogLevel) {
     this.actionLogger = actionLogger;
+    this.actionLogLevel = actionLogLevel;
   }
 
   static HttpActionNodeLogger create(String alias, ActionLogLevel actionLogLevel) {
-    return new HttpActionNodeLogger(ActionLogger.create(alias, actionLogLevel));
+    return new HttpActionNodeLogger(ActionLogger.create(alias, actionLogLevel), actionLogLevel);
   }
 
   JsonObject getJsonNodeLog() {
@@ -47,8 +52,16 @@ class HttpActionNodeLogger {
     log(level, RESPONSE, responseData);
   }
 
-  void logResponseBody(String responseBody) {
-    actionLogger.info(RESPONSE_BODY, responseBody);
+  // the body is decoded to a string only when it is logged
+  void logResponseBody(Buffer responseBody) {
+    if (ActionLogLevel.INFO.equals(actionLogLevel)) {
+      actionLogger.info(RESPONSE_BODY,
+          responseBody != null ? responseBody.toString() : StringUtils.EMPTY);
+    }
+  }
+
+  void logResponseCache(String status) {
+    actionLogger.info(RESPONSE_CACHE, status);
   }
 
   void logError(Throwable throwable) {
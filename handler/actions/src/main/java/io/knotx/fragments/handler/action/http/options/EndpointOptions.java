@@ -37,6 +37,7 @@ public class EndpointOptions {
   private Set<String> allowedRequestHeaders;
   private JsonObject additionalHeaders;
   private List<Pattern> allowedRequestHeadersPatterns;
+  private String body;
   //ToDo: private Set<StatusCode> successStatusCodes;
 
   public EndpointOptions() {
@@ -50,6 +51,7 @@ public class EndpointOptions {
     this.allowedRequestHeaders = new HashSet<>(other.allowedRequestHeaders);
     this.allowedRequestHeadersPatterns = new ArrayList<>(other.allowedRequestHeadersPatterns);
     this.additionalHeaders = other.additionalHeaders.copy();
+    this.body = other.body;
   }
 
   public EndpointOptions(JsonObject json) {
@@ -157,6 +159,26 @@ public class EndpointOptions {
     return this;
   }
 
+  public String getBody() {
+    return body;
+  }
+
+  /**
+   * Sets the request body template sent with {@code POST}, {@code PUT} and {@code PATCH} requests.
+   * Like the path, it can contain placeholders resolved with the client request, the fragment's
+   * payload ({@code payload} prefix) and configuration ({@code config} prefix). Values are escaped
+   * for the {@code Content-Type} set in the additional headers: JSON bodies (also bodies starting
+   * with a brace or a bracket when the header is missing) get JSON string escaping, form bodies get
+   * URL encoding, other bodies get values as they are.
+   *
+   * @param body - request body template
+   * @return a reference to this, so the API can be used fluently
+   */
+  public EndpointOptions setBody(String body) {
+    this.body = body;
+    return this;
+  }
+
   @GenIgnore
   public List<Pattern> getAllowedRequestHeadersPatterns() {
     return allowedRequestHeadersPatterns;
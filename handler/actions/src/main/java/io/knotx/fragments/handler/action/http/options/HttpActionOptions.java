@@ -34,6 +34,7 @@ public class HttpActionOptions {
   private ResponseOptions responseOptions = new ResponseOptions();
   private long requestTimeoutMs = DEFAULT_REQUEST_TIMEOUT;
   private String logLevel;
+  private HttpCacheOptions responseCache;
 
   public HttpActionOptions() {
   }
@@ -47,13 +48,13 @@ public class HttpActionOptions {
   }
 
   /**
-   * Set the {@code HttpMethod} used for performing the request.
-   * At the moment only HTTP GET method is supported.
+   * Set the {@code HttpMethod} used for performing the request. {@code GET}, {@code POST}, {@code
+   * PUT} and {@code PATCH} methods are supported. By default it is set to {@code GET}.
    *
    * @param httpMethod HTTP method
    * @return a reference to this, so the API can be used fluently
    */
-  HttpActionOptions setHttpMethod(String httpMethod) {
+  public HttpActionOptions setHttpMethod(String httpMethod) {
     this.httpMethod = httpMethod;
     return this;
   }
@@ -131,14 +132,33 @@ public class HttpActionOptions {
     return this;
   }
 
+  public HttpCacheOptions getResponseCache() {
+    return responseCache;
+  }
+
+  /**
+   * Enables the response cache honouring the endpoint freshness headers ({@code Cache-Control},
+   * {@code Expires}) and revalidating stale responses with {@code If-None-Match} / {@code
+   * If-Modified-Since}. By default it is not set ({@code null}), so responses are not cached.
+   *
+   * @param responseCache a {@link HttpCacheOptions} object
+   * @return a reference to this, so the API can be used fluently
+   */
+  public HttpActionOptions setResponseCache(HttpCacheOptions responseCache) {
+    this.responseCache = responseCache;
+    return this;
+  }
+
   @Override
   public String toString() {
     return "HttpActionOptions{" +
-        "webClientOptions=" + webClientOptions +
+        "httpMethod=" + httpMethod +
+        ", webClientOptions=" + webClientOptions +
         ", endpointOptions=" + endpointOptions +
         ", responseOptions=" + responseOptions +
         ", requestTimeoutMs=" + requestTimeoutMs +
         ", logLevel=" + logLevel +
+        ", responseCache=" + responseCache +
         '}';
   }
 }
@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2019 Knot.x Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.fragments.handler.action.http.options;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * HTTP Action response cache configuration.
+ */
+@DataObject(generateConverter = true, publicConverter = false)
+public class HttpCacheOptions {
+
+  private static final long DEFAULT_MAXIMUM_SIZE = 1000;
+
+  private long maximumSize = DEFAULT_MAXIMUM_SIZE;
+
+  public HttpCacheOptions() {
+  }
+
+  public HttpCacheOptions(HttpCacheOptions other) {
+    this.maximumSize = other.maximumSize;
+  }
+
+  public HttpCacheOptions(JsonObject json) {
+    this();
+    HttpCacheOptionsConverter.fromJson(json, this);
+  }
+
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    HttpCacheOptionsConverter.toJson(this, json);
+    return json;
+  }
+
+  public long getMaximumSize() {
+    return maximumSize;
+  }
+
+  /**
+   * Sets the maximum number of cached responses. By default it is set to {@code 1000}.
+   *
+   * @param maximumSize - the maximum number of cached responses
+   * @return a reference to this, so the API can be used fluently
+   */
+  public HttpCacheOptions setMaximumSize(long maximumSize) {
+    this.maximumSize = maximumSize;
+    return this;
+  }
+
+  @Override
+  public String toString() {
+    return "HttpCacheOptions{" +
+        "maximumSize=" + maximumSize +
+        '}';
+  }
+}
@@ -17,7 +17,9 @@ package io.knotx.fragments.handler.action.http.options;
 
 import io.vertx.codegen.annotations.DataObject;
 import io.vertx.core.json.JsonObject;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 @DataObject(generateConverter = true, publicConverter = false)
@@ -25,14 +27,17 @@ public class ResponseOptions {
 
   private Set<String> predicates;
   private boolean forceJson;
+  private List<String> projection;
 
   public ResponseOptions() {
     this.predicates = new HashSet<>();
+    this.projection = new ArrayList<>();
   }
 
   public ResponseOptions(ResponseOptions other) {
     this.predicates = new HashSet<>(other.predicates);
     this.forceJson = other.forceJson;
+    this.projection = new ArrayList<>(other.projection);
   }
 
   public ResponseOptions(JsonObject json) {
@@ -76,11 +81,29 @@ public class ResponseOptions {
     return this;
   }
 
+  public List<String> getProjection() {
+    return projection;
+  }
+
+  /**
+   * Sets JSON pointers (e.g. {@code /product/name}) of the JSON response values that are added to
+   * the payload. Other values are skipped while the response is parsed. When empty (default), the
+   * whole response is added.
+   *
+   * @param projection - JSON pointers of the selected values
+   * @return a reference to this, so the API can be used fluently
+   */
+  public ResponseOptions setProjection(List<String> projection) {
+    this.projection = projection;
+    return this;
+  }
+
   @Override
   public String toString() {
     return "ResponseOptions{" +
         "predicates=" + predicates +
         ", forceJson=" + forceJson +
+        ", projection=" + projection +
         '}';
   }
 }
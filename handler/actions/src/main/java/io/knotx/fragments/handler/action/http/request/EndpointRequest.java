@@ -16,15 +16,22 @@
 package io.knotx.fragments.handler.action.http.request;
 
 import io.vertx.reactivex.core.MultiMap;
+import io.vertx.reactivex.core.buffer.Buffer;
 
 public class EndpointRequest {
 
   private final String path;
   private final MultiMap headers;
+  private final Buffer body;
 
   public EndpointRequest(String path, MultiMap headers) {
+    this(path, headers, null);
+  }
+
+  public EndpointRequest(String path, MultiMap headers, Buffer body) {
     this.path = path;
     this.headers = headers;
+    this.body = body;
   }
 
   public String getPath() {
@@ -35,4 +42,11 @@ public class EndpointRequest {
     return headers;
   }
 
+  /**
+   * @return request body or {@code null} when the request has no body
+   */
+  public Buffer getBody() {
+    return body;
+  }
+
 }
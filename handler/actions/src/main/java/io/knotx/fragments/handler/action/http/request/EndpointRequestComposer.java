@@ -22,19 +22,47 @@ import io.knotx.fragments.handler.api.domain.FragmentContext;
 import io.knotx.server.api.context.ClientRequest;
 import io.knotx.server.common.placeholders.PlaceholdersResolver;
 import io.knotx.server.common.placeholders.SourceDefinitions;
+import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonObject;
 import io.vertx.reactivex.core.MultiMap;
+import io.vertx.reactivex.core.buffer.Buffer;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.function.UnaryOperator;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 public class EndpointRequestComposer {
 
   private static final String PLACEHOLDER_PREFIX_PAYLOAD = "payload";
   private static final String PLACEHOLDER_PREFIX_CONFIG = "config";
+  // placeholders contain neither whitespaces nor quotes, unlike JSON objects in the body
+  private static final Pattern BODY_PLACEHOLDER = Pattern.compile("\\{[^{}\\s\"]+}");
+  private static final String CONTENT_TYPE = "Content-Type";
+  private static final String JSON_CONTENT_TYPE = "json";
+  private static final String FORM_CONTENT_TYPE = "application/x-www-form-urlencoded";
 
   private EndpointOptions endpointOptions;
+  // the body without placeholders is encoded once and shared by all requests
+  private Buffer staticBody;
+  // the body template split once into text and placeholders, placeholders at odd indexes
+  private List<String> bodyParts;
+  private UnaryOperator<String> bodyValueEscaping;
 
   public EndpointRequestComposer(EndpointOptions endpointOptions) {
     this.endpointOptions = endpointOptions;
+    String body = endpointOptions.getBody();
+    if (body != null) {
+      this.bodyParts = splitBody(body);
+      if (bodyParts.size() == 1) {
+        this.staticBody = Buffer.buffer(body);
+      }
+      this.bodyValueEscaping = bodyValueEscaping(endpointOptions.getAdditionalHeaders(), body);
+    }
   }
 
   public EndpointRequest createEndpointRequest(FragmentContext context) {
@@ -42,7 +70,78 @@ public class EndpointRequestComposer {
     SourceDefinitions sourceDefinitions = buildSourceDefinitions(context, clientRequest);
     String path = PlaceholdersResolver.resolve(endpointOptions.getPath(), sourceDefinitions);
     MultiMap requestHeaders = getRequestHeaders(clientRequest);
-    return new EndpointRequest(path, requestHeaders);
+    return new EndpointRequest(path, requestHeaders, getBody(sourceDefinitions));
+  }
+
+  private Buffer getBody(SourceDefinitions sourceDefinitions) {
+    if (endpointOptions.getBody() == null) {
+      return null;
+    } else if (staticBody != null) {
+      return staticBody;
+    }
+    // values are escaped for the content type, so they can not change the body structure
+    StringBuilder body = new StringBuilder(endpointOptions.getBody().length());
+    for (int i = 0; i < bodyParts.size(); i++) {
+      String part = bodyParts.get(i);
+      body.append(i % 2 == 0 ? part
+          : bodyValueEscaping.apply(PlaceholdersResolver.resolve(part, sourceDefinitions)));
+    }
+    return Buffer.buffer(body.toString());
+  }
+
+  private static List<String> splitBody(String body) {
+    List<String> parts = new ArrayList<>();
+    Matcher matcher = BODY_PLACEHOLDER.matcher(body);
+    int textStart = 0;
+    while (matcher.find()) {
+      parts.add(body.substring(textStart, matcher.start()));
+      parts.add(matcher.group());
+      textStart = matcher.end();
+    }
+    parts.add(body.substring(textStart));
+    return parts;
+  }
+
+  // without the Content-Type header, the body is treated as JSON when it looks like JSON
+  private static UnaryOperator<String> bodyValueEscaping(JsonObject additionalHeaders,
+      String body) {
+    String contentType = getContentType(additionalHeaders);
+    if (contentType == null) {
+      String trimmed = body.trim();
+      return trimmed.startsWith("{") || trimmed.startsWith("[")
+          ? EndpointRequestComposer::escapeJson
+          : UnaryOperator.identity();
+    } else if (contentType.contains(JSON_CONTENT_TYPE)) {
+      return EndpointRequestComposer::escapeJson;
+    } else if (contentType.startsWith(FORM_CONTENT_TYPE)) {
+      return EndpointRequestComposer::escapeForm;
+    }
+    return UnaryOperator.identity();
+  }
+
+  private static String getContentType(JsonObject additionalHeaders) {
+    if (additionalHeaders == null) {
+      return null;
+    }
+    return additionalHeaders.stream()
+        .filter(header -> CONTENT_TYPE.equalsIgnoreCase(header.getKey()))
+        .map(header -> String.valueOf(header.getValue()).toLowerCase(Locale.ROOT))
+        .findFirst()
+        .orElse(null);
+  }
+
+  // the value is a JSON string without the enclosing quotes, so it fits both strings and numbers
+  private static String escapeJson(String value) {
+    String encoded = Json.encode(value);
+    return encoded.substring(1, encoded.length() - 1);
+  }
+
+  private static String escapeForm(String value) {
+    try {
+      return URLEncoder.encode(value, StandardCharsets.UTF_8.name());
+    } catch (UnsupportedEncodingException e) {
+      throw new IllegalStateException(e);
+    }
   }
 
   private SourceDefinitions buildSourceDefinitions(FragmentContext context,
@@ -50,9 +149,9 @@ public class EndpointRequestComposer {
     return SourceDefinitions.builder()
         .addClientRequestSource(clientRequest)
         .addJsonObjectSource(context.getFragment()
-            .getPayload(), PLACEHOLDER_PREFIX_PAYLOAD)
+            .getPayloadView(), PLACEHOLDER_PREFIX_PAYLOAD)
         .addJsonObjectSource(context.getFragment()
-            .getConfiguration(), PLACEHOLDER_PREFIX_CONFIG)
+            .getConfigurationView(), PLACEHOLDER_PREFIX_CONFIG)
         .build();
   }
 
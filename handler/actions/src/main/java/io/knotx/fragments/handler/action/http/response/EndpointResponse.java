@@ -46,7 +46,7 @@ public class EndpointResponse {
   }
 
 
-  HttpResponseStatus getStatusCode() {
+  public HttpResponseStatus getStatusCode() {
     return statusCode;
   }
 
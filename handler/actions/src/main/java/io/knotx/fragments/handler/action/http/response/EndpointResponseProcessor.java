@@ -30,24 +30,28 @@ import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpHeaderValues;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http.HttpStatusClass;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import java.io.IOException;
-import org.apache.commons.lang3.StringUtils;
 
 public class EndpointResponseProcessor {
 
-  public static final String TIMEOUT_TRANSITION = "_timeout";
+  public static final String TIMEOUT_TRANSITION = FragmentResult.TIMEOUT_TRANSITION;
   private static final String HTTP_ACTION_TYPE = "HTTP";
   private static final String METADATA_HEADERS_KEY = "headers";
   private static final String METADATA_STATUS_CODE_KEY = "statusCode";
   private static final String JSON = "JSON";
   private final boolean isJsonPredicate;
   private final boolean isForceJson;
+  // null when the whole response is decoded
+  private final JsonProjection projection;
 
   public EndpointResponseProcessor(ResponseOptions responseOptions) {
     this.isJsonPredicate = responseOptions.getPredicates().contains(JSON);
     this.isForceJson = responseOptions.isForceJson();
+    this.projection = responseOptions.getProjection().isEmpty() ? null
+        : new JsonProjection(responseOptions.getProjection());
   }
 
   public HttpActionResult handleResponse(EndpointRequest endpointRequest,
@@ -126,7 +130,7 @@ public class EndpointResponseProcessor {
 
   private Object retrieveResultFrom(EndpointResponse response) {
     if (isForceJson || isJsonPredicate || isContentTypeHeaderJson(response)) {
-      return bodyToJson(response.getBody().toString());
+      return bodyToJson(response.getBody().getDelegate());
     } else {
       return response.getBody().toString();
     }
@@ -137,16 +141,29 @@ public class EndpointResponseProcessor {
     return contentType != null && contentType.contains(HttpHeaderValues.APPLICATION_JSON);
   }
 
-  private Object bodyToJson(String responseBody) {
-    if (StringUtils.isBlank(responseBody)) {
+  // JSON is decoded directly from the buffer bytes, without copying the body to a string
+  private Object bodyToJson(Buffer responseBody) {
+    int first = firstNonWhitespace(responseBody);
+    if (first < 0) {
       return new JsonObject();
-    } else if (responseBody.startsWith("[")) {
+    } else if (projection != null) {
+      return projection.project(responseBody);
+    } else if (responseBody.getByte(first) == '[') {
       return new JsonArray(responseBody);
     } else {
       return new JsonObject(responseBody);
     }
   }
 
+  private static int firstNonWhitespace(Buffer buffer) {
+    for (int i = 0; i < buffer.length(); i++) {
+      if (!Character.isWhitespace(buffer.getByte(i))) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
   private String getErrorTransition(EndpointResponse endpointResponse) {
     if (isTimeout(endpointResponse)) {
       return TIMEOUT_TRANSITION;
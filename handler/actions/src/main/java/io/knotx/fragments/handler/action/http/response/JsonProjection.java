@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2019 Knot.x Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.fragments.handler.action.http.response;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.filter.FilteringParserDelegate;
+import com.fasterxml.jackson.core.filter.TokenFilter;
+import io.netty.buffer.ByteBufInputStream;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Decodes only the selected parts of a JSON document. The document is read with a streaming parser
+ * and values outside the JSON pointers (RFC 6901, e.g. {@code /product/name} or {@code
+ * /items/0/id}) are skipped, without being materialised. Selected values keep their paths, so
+ * {@code /product/name} projects {@code {"product": {"id": 1, "name": "Tea"}}} to {@code {"product":
+ * {"name": "Tea"}}}.
+ */
+class JsonProjection {
+
+  private final TokenFilter filter;
+
+  /**
+   * @param pointers - JSON pointers of the selected values
+   * @throws IllegalArgumentException when a pointer is not valid
+   */
+  JsonProjection(Collection<String> pointers) {
+    List<JsonPointer> compiled = new ArrayList<>(pointers.size());
+    pointers.forEach(pointer -> compiled.add(JsonPointer.compile(pointer)));
+    this.filter = new PointersFilter(compiled);
+  }
+
+  /**
+   * @param json - JSON document bytes
+   * @return projected {@code JsonObject} or {@code JsonArray}, empty {@code JsonObject} when
+   * nothing is selected
+   */
+  Object project(Buffer json) {
+    try (InputStream input = new ByteBufInputStream(json.getByteBuf());
+        JsonParser parser = new FilteringParserDelegate(
+            Json.mapper.getFactory().createParser(input), filter, true, true)) {
+      if (parser.nextToken() == null) {
+        return new JsonObject();
+      }
+      Object value = Json.mapper.readValue(parser, Object.class);
+      return toJson(value);
+    } catch (IOException e) {
+      throw new DecodeException("Failed to decode: " + e.getMessage());
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Object toJson(Object value) {
+    if (value instanceof Map) {
+      return new JsonObject((Map<String, Object>) value);
+    } else if (value instanceof List) {
+      return new JsonArray((List) value);
+    }
+    throw new DecodeException("JSON object or array expected");
+  }
+
+  private static class PointersFilter extends TokenFilter {
+
+    private final List<JsonPointer> pointers;
+
+    PointersFilter(List<JsonPointer> pointers) {
+      this.pointers = pointers;
+    }
+
+    @Override
+    public TokenFilter includeProperty(String name) {
+      return next(pointer -> pointer.matchProperty(name));
+    }
+
+    @Override
+    public TokenFilter includeElement(int index) {
+      return next(pointer -> pointer.matchElement(index));
+    }
+
+    // scalars are included only when selected by the pointer (INCLUDE_ALL filter)
+    @Override
+    protected boolean _includeScalar() {
+      return false;
+    }
+
+    private TokenFilter next(Function<JsonPointer, JsonPointer> step) {
+      List<JsonPointer> remaining = new ArrayList<>();
+      for (JsonPointer pointer : pointers) {
+        JsonPointer tail = step.apply(pointer);
+        if (tail != null) {
+          if (tail.matches()) {
+            return TokenFilter.INCLUDE_ALL;
+          }
+          remaining.add(tail);
+        }
+      }
+      return remaining.isEmpty() ? null : new PointersFilter(remaining);
+    }
+  }
+}
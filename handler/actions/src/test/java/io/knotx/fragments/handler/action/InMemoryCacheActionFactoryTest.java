@@ -17,20 +17,30 @@ package io.knotx.fragments.handler.action;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import io.knotx.fragments.api.Fragment;
 import io.knotx.fragments.handler.api.Action;
+import io.knotx.fragments.handler.api.CacheDefinitions;
 import io.knotx.fragments.handler.api.domain.FragmentContext;
 import io.knotx.fragments.handler.api.domain.FragmentResult;
 import io.knotx.junit5.KnotxExtension;
 import io.knotx.server.api.context.ClientRequest;
+import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonObject;
+import io.vertx.junit5.Checkpoint;
 import io.vertx.junit5.VertxTestContext;
 import io.vertx.reactivex.core.MultiMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -231,6 +241,204 @@ class InMemoryCacheActionFactoryTest {
     }
   }
 
+  @DisplayName("doAction invoked once when concurrent calls miss the same cacheKey")
+  @Test
+  void callDoActionOnceForConcurrentMisses(VertxTestContext testContext) throws Throwable {
+    // given
+    JsonObject expectedPayloadValue = new JsonObject().put("someKey", "someValue");
+    List<Handler<AsyncResult<FragmentResult>>> pendingHandlers = new ArrayList<>();
+    List<FragmentContext> doActionContexts = new ArrayList<>();
+    Action doAction = (fragmentContext, resultHandler) -> {
+      doActionContexts.add(fragmentContext);
+      pendingHandlers.add(resultHandler);
+    };
+
+    Action tested = new InMemoryCacheActionFactory()
+        .create(ACTION_ALIAS, ACTION_CONFIG
+            .put("cache", new JsonObject()), null, doAction);
+    Checkpoint checkpoint = testContext.checkpoint(2);
+    Handler<AsyncResult<FragmentResult>> assertion = result -> {
+      testContext.verify(() -> {
+        assertEquals(1, doActionContexts.size());
+        assertEquals(expectedPayloadValue,
+            result.result().getFragment().getPayload().getJsonObject(PAYLOAD_KEY));
+      });
+      checkpoint.flag();
+    };
+
+    // when
+    tested.apply(new FragmentContext(firstFragment, new ClientRequest()), assertion);
+    tested.apply(new FragmentContext(secondFragment, new ClientRequest()), assertion);
+    Fragment loaded = doActionContexts.get(0).getFragment()
+        .appendPayload(PAYLOAD_KEY, expectedPayloadValue);
+    Future.succeededFuture(new FragmentResult(loaded, FragmentResult.SUCCESS_TRANSITION))
+        .setHandler(pendingHandlers.get(0));
+
+    assertTrue(testContext.awaitCompletion(5, TimeUnit.SECONDS));
+    if (testContext.failed()) {
+      throw testContext.causeOfFailure();
+    }
+  }
+
+  @DisplayName("Pending load removed and collapsed calls failed when doAction does not end within load timeout")
+  @Test
+  void callDoActionAgainWhenPendingLoadTimedOut(VertxTestContext testContext) throws Throwable {
+    // given
+    AtomicInteger invocations = new AtomicInteger();
+    Action doAction = (fragmentContext, resultHandler) -> invocations.incrementAndGet();
+
+    Action tested = new InMemoryCacheActionFactory()
+        .create(ACTION_ALIAS, ACTION_CONFIG.copy()
+            .put("cache", new JsonObject())
+            .put("loadTimeoutMs", 100), null, doAction);
+    Checkpoint checkpoint = testContext.checkpoint(2);
+    Handler<AsyncResult<FragmentResult>> assertion = result -> {
+      testContext.verify(() -> {
+        assertTrue(result.failed());
+        assertEquals(1, invocations.get());
+      });
+      checkpoint.flag();
+    };
+
+    // when
+    tested.apply(new FragmentContext(firstFragment, new ClientRequest()), assertion);
+    tested.apply(new FragmentContext(secondFragment, new ClientRequest()), assertion);
+
+    // then
+    assertTrue(testContext.awaitCompletion(5, TimeUnit.SECONDS));
+    if (testContext.failed()) {
+      throw testContext.causeOfFailure();
+    }
+    tested.apply(new FragmentContext(firstFragment, new ClientRequest()), result -> {
+    });
+    assertEquals(2, invocations.get());
+  }
+
+  @DisplayName("Stale value served while revalidated in the background")
+  @Test
+  void callDoActionInBackgroundWhenValueStale(VertxTestContext testContext) throws Throwable {
+    // given
+    AtomicInteger invocations = new AtomicInteger();
+    Action doAction = (fragmentContext, resultHandler) -> {
+      Fragment fragment = fragmentContext.getFragment();
+      fragment.appendPayload(PAYLOAD_KEY, invocations.incrementAndGet());
+      Future
+          .succeededFuture(new FragmentResult(fragment, FragmentResult.SUCCESS_TRANSITION))
+          .setHandler(resultHandler);
+    };
+
+    Action tested = new InMemoryCacheActionFactory()
+        .create(ACTION_ALIAS, ACTION_CONFIG.copy()
+            .put("cache", new JsonObject().put("ttl", 0).put("staleWhileRevalidate", 10000)),
+            null, doAction);
+    Fragment thirdFragment = new Fragment("type", new JsonObject(), "initial body");
+
+    // when
+    tested.apply(new FragmentContext(firstFragment, new ClientRequest()),
+        firstResult -> tested.apply(new FragmentContext(secondFragment, new ClientRequest()),
+            secondResult -> tested.apply(new FragmentContext(thirdFragment, new ClientRequest()),
+                thirdResult -> {
+                  // then
+                  testContext.verify(() -> {
+                    assertEquals(1, firstResult.result().getFragment().getPayload()
+                        .getInteger(PAYLOAD_KEY));
+                    assertEquals(1, secondResult.result().getFragment().getPayload()
+                        .getInteger(PAYLOAD_KEY));
+                    assertEquals(2, thirdResult.result().getFragment().getPayload()
+                        .getInteger(PAYLOAD_KEY));
+                  });
+                  testContext.completeNow();
+                })));
+
+    assertTrue(testContext.awaitCompletion(5, TimeUnit.SECONDS));
+    if (testContext.failed()) {
+      throw testContext.causeOfFailure();
+    }
+  }
+
+  @DisplayName("Cached value decoded on hit when values stored serialized and bounded by weight")
+  @Test
+  void callDoActionOnceWhenValuesSerialized(VertxTestContext testContext) throws Throwable {
+    // given
+    AtomicInteger invocations = new AtomicInteger();
+    JsonObject expectedPayloadValue = new JsonObject().put("someKey", "someValue");
+    Action doAction = (fragmentContext, resultHandler) -> {
+      invocations.incrementAndGet();
+      Fragment fragment = fragmentContext.getFragment();
+      fragment.appendPayload(PAYLOAD_KEY, expectedPayloadValue);
+      Future
+          .succeededFuture(new FragmentResult(fragment, FragmentResult.SUCCESS_TRANSITION))
+          .setHandler(resultHandler);
+    };
+
+    Action tested = new InMemoryCacheActionFactory()
+        .create(ACTION_ALIAS, ACTION_CONFIG.copy()
+            .put("cache", new JsonObject().put("maximumWeightBytes", 1024 * 1024)
+                .put("offHeap", true)), null, doAction);
+
+    // when
+    tested.apply(new FragmentContext(firstFragment, new ClientRequest()),
+        firstResult -> tested.apply(new FragmentContext(secondFragment, new ClientRequest()),
+            secondResult -> {
+              // then
+              testContext.verify(() -> {
+                Object cachedValue = secondResult.result().getFragment().getPayload()
+                    .getMap().get(PAYLOAD_KEY);
+                assertEquals(1, invocations.get());
+                assertEquals(expectedPayloadValue, cachedValue);
+                assertNotSame(expectedPayloadValue, cachedValue);
+              });
+              testContext.completeNow();
+            }));
+
+    assertTrue(testContext.awaitCompletion(5, TimeUnit.SECONDS));
+    if (testContext.failed()) {
+      throw testContext.causeOfFailure();
+    }
+  }
+
+  @DisplayName("Named cache shared by actions, doAction called once")
+  @Test
+  void callDoActionOnceWhenCacheShared(Vertx vertx, VertxTestContext testContext)
+      throws Throwable {
+    // given
+    String cacheName = UUID.randomUUID().toString();
+    CacheDefinitions.register(vertx,
+        Collections.singletonMap(cacheName, new JsonObject().put("ttl", 10000)));
+    AtomicInteger invocations = new AtomicInteger();
+    Action doAction = (fragmentContext, resultHandler) -> {
+      Fragment fragment = fragmentContext.getFragment();
+      fragment.appendPayload(PAYLOAD_KEY, invocations.incrementAndGet());
+      Future
+          .succeededFuture(new FragmentResult(fragment, FragmentResult.SUCCESS_TRANSITION))
+          .setHandler(resultHandler);
+    };
+    JsonObject config = ACTION_CONFIG.copy().put("cacheName", cacheName);
+
+    Action first = new InMemoryCacheActionFactory()
+        .create(ACTION_ALIAS, config, vertx, doAction);
+    Action second = new InMemoryCacheActionFactory()
+        .create("other-action", config, vertx, doAction);
+
+    // when
+    first.apply(new FragmentContext(firstFragment, new ClientRequest()),
+        firstResult -> second.apply(new FragmentContext(secondFragment, new ClientRequest()),
+            secondResult -> {
+              // then
+              testContext.verify(() -> {
+                assertEquals(1, invocations.get());
+                assertEquals(1,
+                    secondResult.result().getFragment().getPayload().getInteger(PAYLOAD_KEY));
+              });
+              testContext.completeNow();
+            }));
+
+    assertTrue(testContext.awaitCompletion(5, TimeUnit.SECONDS));
+    if (testContext.failed()) {
+      throw testContext.causeOfFailure();
+    }
+  }
+
   @DisplayName("Different payload values when cache key uses requests data that are different.")
   @Test
   void callActionsDifferentCacheKeys(VertxTestContext testContext) throws Throwable {
@@ -271,6 +479,46 @@ class InMemoryCacheActionFactoryTest {
     }
   }
 
+  @DisplayName("Different payload values when cache key uses fragment payload and configuration that are different.")
+  @Test
+  void callActionsDifferentPayloadCacheKeys(VertxTestContext testContext) throws Throwable {
+    // given
+    Action doAction = (fragmentContext, resultHandler) -> {
+      Fragment fragment = fragmentContext.getFragment();
+      fragment.appendPayload(PAYLOAD_KEY, uniqueValue(fragmentContext.hashCode()));
+      Future
+          .succeededFuture(new FragmentResult(fragment, FragmentResult.SUCCESS_TRANSITION))
+          .setHandler(resultHandler);
+    };
+
+    Action tested = new InMemoryCacheActionFactory()
+        .create(ACTION_ALIAS,
+            new JsonObject()
+                .put("payloadKey", PAYLOAD_KEY)
+                .put("cacheKey", "product-{payload.user.id}-{config.lang}"),
+            null, doAction);
+
+    // when
+    Fragment first = new Fragment("type", new JsonObject().put("lang", "en"), "")
+        .appendPayload("user", new JsonObject().put("id", "user1"));
+    Fragment second = new Fragment("type", new JsonObject().put("lang", "en"), "")
+        .appendPayload("user", new JsonObject().put("id", "user2"));
+
+    tested.apply(new FragmentContext(first, new ClientRequest()),
+        firstResult -> tested.apply(new FragmentContext(second, new ClientRequest()),
+            secondResult -> {
+              testContext.verify(() -> assertNotEquals(
+                  firstResult.result().getFragment().getPayload().getMap().get(PAYLOAD_KEY),
+                  secondResult.result().getFragment().getPayload().getMap().get(PAYLOAD_KEY)));
+              testContext.completeNow();
+            }));
+
+    assertTrue(testContext.awaitCompletion(5, TimeUnit.SECONDS));
+    if (testContext.failed()) {
+      throw testContext.causeOfFailure();
+    }
+  }
+
   @DisplayName("Error not cached.")
   @Test
   void callDoActionWithErrorAndDoActionWithSuccess(VertxTestContext testContext) throws Throwable {
@@ -0,0 +1,305 @@
+/*
+ * Copyright (C) 2019 Knot.x Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.fragments.handler.action;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.knotx.fragments.handler.api.CacheDefinitions;
+import io.knotx.junit5.KnotxExtension;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.junit5.VertxTestContext;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith(KnotxExtension.class)
+class InMemoryCacheTest {
+
+  private static final int MAXIMUM_SIZE = 100;
+  private static final int KEYS = 10000;
+  private static final int ACCESSES = 100000;
+  // share of accesses to keys requested only once (e.g. per-user URLs)
+  private static final double ONE_OFF_ACCESSES = 0.3;
+
+  @DisplayName("TinyLFU policy hit rate higher than LRU for Zipfian keys mixed with one-off keys")
+  @Test
+  void tinyLfuHitRateHigherForSkewedKeys() {
+    // given
+    InMemoryCache lru = InMemoryCache.create(cacheConfig("lru"));
+    InMemoryCache tinyLfu = InMemoryCache.create(cacheConfig("tiny-lfu"));
+
+    // when
+    double lruHitRate = hitRate(lru);
+    double tinyLfuHitRate = hitRate(tinyLfu);
+
+    // then
+    assertTrue(tinyLfuHitRate > lruHitRate,
+        "TinyLFU hit rate [" + tinyLfuHitRate + "], LRU hit rate [" + lruHitRate + "]");
+  }
+
+  @DisplayName("Exception when TinyLFU policy used with cache bounded by weight")
+  @Test
+  void tinyLfuWithWeightBound() {
+    // given
+    JsonObject config = cacheConfig("tiny-lfu").put("maximumWeightBytes", 1024);
+
+    // when, then
+    assertThrows(IllegalArgumentException.class, () -> InMemoryCache.create(config));
+  }
+
+  @DisplayName("Exception when eviction policy is unknown")
+  @Test
+  void unknownEvictionPolicy() {
+    // when, then
+    assertThrows(IllegalArgumentException.class,
+        () -> InMemoryCache.create(cacheConfig("fifo")));
+  }
+
+  @DisplayName("TinyLFU policy keeps cache bounded when keys are cached again after expiration")
+  @Test
+  void tinyLfuBoundedWhenExpiredKeysCachedAgain() throws InterruptedException {
+    // given
+    InMemoryCache cache = InMemoryCache.create(new JsonObject()
+        .put("maximumSize", 2)
+        .put("ttl", 50)
+        .put("evictionPolicy", "tiny-lfu"));
+    cache.put("a", "a");
+    cache.put("b", "b");
+    Thread.sleep(100);
+
+    // when
+    cache.put("a", "a");
+    cache.put("b", "b");
+    for (int i = 0; i < 10; i++) {
+      cache.getIfPresent("key-" + i);
+      cache.getIfPresent("key-" + i);
+      cache.put("key-" + i, i);
+    }
+
+    // then
+    assertTrue(cache.size() <= 2, "Cache size [" + cache.size() + "]");
+  }
+
+  @DisplayName("Values restored from snapshot, expired values skipped")
+  @Test
+  void restoreFromSnapshot(Vertx vertx, VertxTestContext testContext) throws Throwable {
+    // given
+    Path path = Files.createTempDirectory("in-memory-cache").resolve("snapshot.bin");
+    JsonObject freshValue = new JsonObject().put("id", 1);
+    Map<String, CachedValue> values = new HashMap<>();
+    values.put("fresh", CachedValue.of(freshValue).withAge(1000));
+    values.put("expired", CachedValue.of("expired value").withAge(10000));
+    CacheSnapshot.write(path, values);
+
+    // when
+    InMemoryCache cache = sharedCache(vertx, new JsonObject()
+        .put("ttl", 5000)
+        .put("snapshot", new JsonObject().put("path", path.toString())));
+
+    // then
+    cache.restored().setHandler(testContext.succeeding(entries -> testContext.verify(() -> {
+      CachedValue restored = cache.getIfPresent("fresh");
+      assertEquals(freshValue, restored.getValue());
+      assertTrue(restored.getAgeMs() >= 1000);
+      assertNull(cache.getIfPresent("expired"));
+      testContext.completeNow();
+    })));
+    awaitCompletion(testContext);
+  }
+
+  @DisplayName("Serialized values written to snapshot and restored")
+  @Test
+  void restoreSerializedValuesFromSnapshot(Vertx vertx, VertxTestContext testContext)
+      throws Throwable {
+    // given
+    Path path = Files.createTempDirectory("in-memory-cache").resolve("snapshot.bin");
+    Map<String, CachedValue> values = new HashMap<>();
+    values.put("key", CachedValue.serialized("value", true));
+    CacheSnapshot.write(path, values);
+
+    // when
+    InMemoryCache cache = sharedCache(vertx, new JsonObject()
+        .put("maximumWeightBytes", 1024)
+        .put("snapshot", new JsonObject().put("path", path.toString())));
+
+    // then
+    cache.restored().setHandler(testContext.succeeding(entries -> testContext.verify(() -> {
+      assertEquals("value", cache.getIfPresent("key").getValue());
+      testContext.completeNow();
+    })));
+    awaitCompletion(testContext);
+  }
+
+  @DisplayName("Exception when snapshot configured for a private cache")
+  @Test
+  void snapshotOfPrivateCache() {
+    // given
+    JsonObject config = new JsonObject()
+        .put("snapshot", new JsonObject().put("path", "snapshot.bin"));
+
+    // when, then
+    assertThrows(IllegalArgumentException.class, () -> InMemoryCache.create(config));
+  }
+
+  @DisplayName("Snapshot written concurrently to the same file is complete")
+  @Test
+  void concurrentSnapshotsToSameFile() throws Exception {
+    // given
+    Path path = Files.createTempDirectory("in-memory-cache").resolve("snapshot.bin");
+    Map<String, CachedValue> values = new HashMap<>();
+    for (int i = 0; i < 1000; i++) {
+      values.put("key-" + i, CachedValue.of(new JsonObject().put("id", i)));
+    }
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    // when
+    List<Future<Integer>> writes = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      writes.add(executor.submit(() -> CacheSnapshot.write(path, values)));
+    }
+    for (Future<Integer> write : writes) {
+      write.get(5, TimeUnit.SECONDS);
+    }
+    executor.shutdown();
+
+    // then
+    Map<String, byte[]> restored = new HashMap<>();
+    CacheSnapshot.read(path, (key, ageMs, value) -> restored.put(key, value));
+    assertEquals(values.keySet(), restored.keySet());
+    try (Stream<Path> files = Files.list(path.getParent())) {
+      assertEquals(1, files.count());
+    }
+  }
+
+  @DisplayName("Shared cache values copied on read")
+  @Test
+  void sharedCacheValuesCopiedOnRead(Vertx vertx) {
+    // given
+    String cacheName = UUID.randomUUID().toString();
+    CacheDefinitions.register(vertx, Collections.singletonMap(cacheName, new JsonObject()));
+    InMemoryCache cache = InMemoryCache.shared(vertx, cacheName);
+    JsonObject value = new JsonObject().put("id", 1);
+
+    // when
+    cache.put("key", value);
+    Object first = cache.getIfPresent("key").getValue();
+    Object second = cache.getIfPresent("key").getValue();
+
+    // then
+    assertEquals(value, first);
+    assertEquals(value, second);
+    assertNotSame(first, second);
+    assertNotSame(value, first);
+  }
+
+  @DisplayName("Shared cache recreated when its definition changes")
+  @Test
+  void sharedCacheRecreatedWhenDefinitionChanges(Vertx vertx) {
+    // given
+    String cacheName = UUID.randomUUID().toString();
+    CacheDefinitions.register(vertx,
+        Collections.singletonMap(cacheName, new JsonObject().put("ttl", 1000)));
+    InMemoryCache first = InMemoryCache.shared(vertx, cacheName);
+
+    // when
+    InMemoryCache unchanged = InMemoryCache.shared(vertx, cacheName);
+    CacheDefinitions.register(vertx,
+        Collections.singletonMap(cacheName, new JsonObject().put("ttl", 2000)));
+    InMemoryCache changed = InMemoryCache.shared(vertx, cacheName);
+
+    // then
+    assertSame(first, unchanged);
+    assertNotSame(first, changed);
+    assertSame(changed, InMemoryCache.shared(vertx, cacheName));
+  }
+
+  private static InMemoryCache sharedCache(Vertx vertx, JsonObject definition) {
+    String cacheName = UUID.randomUUID().toString();
+    CacheDefinitions.register(vertx, Collections.singletonMap(cacheName, definition));
+    return InMemoryCache.shared(vertx, cacheName);
+  }
+
+  private static void awaitCompletion(VertxTestContext testContext) throws Throwable {
+    assertTrue(testContext.awaitCompletion(5, TimeUnit.SECONDS));
+    if (testContext.failed()) {
+      throw testContext.causeOfFailure();
+    }
+  }
+
+  private static JsonObject cacheConfig(String evictionPolicy) {
+    return new JsonObject()
+        .put("maximumSize", MAXIMUM_SIZE)
+        .put("ttl", 60000)
+        .put("evictionPolicy", evictionPolicy);
+  }
+
+  private static double hitRate(InMemoryCache cache) {
+    double[] distribution = zipfDistribution();
+    Random random = new Random(42);
+    int hits = 0;
+    for (int i = 0; i < ACCESSES; i++) {
+      String key = random.nextDouble() < ONE_OFF_ACCESSES
+          ? "one-off-" + i
+          : "key-" + nextZipfKey(distribution, random);
+      if (cache.getIfPresent(key) != null) {
+        hits++;
+      } else {
+        cache.put(key, i);
+      }
+    }
+    return (double) hits / ACCESSES;
+  }
+
+  // cumulative Zipf (s = 1) distribution, normalized to 1
+  private static double[] zipfDistribution() {
+    double[] cumulative = new double[KEYS];
+    double sum = 0;
+    for (int i = 0; i < KEYS; i++) {
+      sum += 1.0 / (i + 1);
+      cumulative[i] = sum;
+    }
+    for (int i = 0; i < KEYS; i++) {
+      cumulative[i] /= sum;
+    }
+    return cumulative;
+  }
+
+  private static int nextZipfKey(double[] distribution, Random random) {
+    int index = Arrays.binarySearch(distribution, random.nextDouble());
+    return Math.min(index < 0 ? -index - 1 : index, KEYS - 1);
+  }
+}
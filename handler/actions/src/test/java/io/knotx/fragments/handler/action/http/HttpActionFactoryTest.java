@@ -49,6 +49,23 @@ class HttpActionFactoryTest {
     assertTrue(actionFactory.create("", config, vertx, null) instanceof HttpAction);
   }
 
+  @Test
+  @DisplayName("Should create http action when POST method configured")
+  void shouldCreateHttpActionWhenPostMethodConfigured(Vertx vertx) {
+    HttpActionFactory actionFactory = new HttpActionFactory();
+    JsonObject config = new JsonObject().put("httpMethod", "POST");
+    assertTrue(actionFactory.create("", config, vertx, null) instanceof HttpAction);
+  }
+
+  @Test
+  @DisplayName("Expect exception when not supported method configured")
+  void expectExceptionWhenNotSupportedMethodConfigured(Vertx vertx) {
+    HttpActionFactory actionFactory = new HttpActionFactory();
+    JsonObject config = new JsonObject().put("httpMethod", "DELETE");
+    assertThrows(ActionConfigurationException.class,
+        () -> actionFactory.create("", config, vertx, null));
+  }
+
   @Test
   @DisplayName("Http Action is stateless and should be cached.")
   void shouldBeCacheable() {
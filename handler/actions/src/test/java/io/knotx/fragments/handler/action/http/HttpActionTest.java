@@ -16,8 +16,12 @@
 package io.knotx.fragments.handler.action.http;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalToJson;
 import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.matching;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
 import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
 import static io.knotx.fragments.handler.action.http.response.EndpointResponseProcessor.TIMEOUT_TRANSITION;
@@ -29,9 +33,11 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
 import io.knotx.fragments.api.Fragment;
 import io.knotx.fragments.handler.action.http.options.EndpointOptions;
 import io.knotx.fragments.handler.action.http.options.HttpActionOptions;
+import io.knotx.fragments.handler.action.http.options.HttpCacheOptions;
 import io.knotx.fragments.handler.action.http.options.ResponseOptions;
 import io.knotx.fragments.handler.api.actionlog.ActionLogLevel;
 import io.knotx.fragments.handler.api.domain.FragmentContext;
@@ -52,6 +58,7 @@ import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
 import io.vertx.reactivex.core.MultiMap;
 import io.vertx.reactivex.ext.web.client.WebClient;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Optional;
@@ -216,6 +223,62 @@ class HttpActionTest {
     }, testContext);
   }
 
+  @Test
+  @DisplayName("Expect JSONArray result when JSON endpoint responded with JSONArray body preceded by whitespaces")
+  void appendJsonArrayWhenBodyStartsWithWhitespaces(VertxTestContext testContext, Vertx vertx)
+      throws Throwable {
+    // given, when
+    HttpAction tested = setupTestingInstances(vertx, VALID_REQUEST_PATH,
+        "\n  " + VALID_JSON_ARRAY_RESPONSE_BODY, APPLICATION_JSON, null, false,
+        ActionLogLevel.ERROR);
+    ClientRequest clientRequest = prepareClientRequest(MultiMap.caseInsensitiveMultiMap(),
+        MultiMap.caseInsensitiveMultiMap(), HttpActionTest.VALID_REQUEST_PATH);
+
+    // then
+    verifyExecution(tested, clientRequest, createFragment(), fragmentResult -> {
+      ActionPayload payload = new ActionPayload(
+          fragmentResult.getFragment()
+              .getPayload()
+              .getJsonObject(ACTION_ALIAS));
+      assertEquals(new JsonArray(VALID_JSON_ARRAY_RESPONSE_BODY), payload.getResult());
+    }, testContext);
+  }
+
+  @Test
+  @DisplayName("Expect only projected values in payload when response projection is configured")
+  void appendProjectedValuesWhenProjectionConfigured(VertxTestContext testContext, Vertx vertx)
+      throws Throwable {
+    // given, when
+    wireMockServer.stubFor(get(urlEqualTo(VALID_REQUEST_PATH))
+        .willReturn(aResponse()
+            .withHeader("Content-Type", APPLICATION_JSON)
+            .withBody("{\"product\": {\"id\": 1, \"name\": \"Tea\", \"reviews\": [1, 2]},"
+                + " \"related\": [{\"id\": 2}]}")));
+    EndpointOptions endpointOptions = new EndpointOptions()
+        .setPath(VALID_REQUEST_PATH)
+        .setDomain("localhost")
+        .setPort(wireMockServer.port());
+    HttpAction tested = new HttpAction(createDefaultWebClient(vertx),
+        new HttpActionOptions()
+            .setEndpointOptions(endpointOptions)
+            .setResponseOptions(new ResponseOptions()
+                .setProjection(Arrays.asList("/product/name", "/product/id", "/missing")))
+            .setLogLevel(actionLogLevel.getLevel()),
+        ACTION_ALIAS);
+    ClientRequest clientRequest = prepareClientRequest(MultiMap.caseInsensitiveMultiMap(),
+        MultiMap.caseInsensitiveMultiMap(), HttpActionTest.VALID_REQUEST_PATH);
+
+    // then
+    verifyExecution(tested, clientRequest, createFragment(), fragmentResult -> {
+      ActionPayload payload = new ActionPayload(
+          fragmentResult.getFragment()
+              .getPayload()
+              .getJsonObject(ACTION_ALIAS));
+      assertEquals(new JsonObject().put("product",
+          new JsonObject().put("id", 1).put("name", "Tea")), payload.getResult());
+    }, testContext);
+  }
+
   @Test
   @DisplayName("Expect fragment's body not modified when endpoint responded with OK and empty body")
   void fragmentsBodyNotModifiedWhenEmptyResponseBody(VertxTestContext testContext,
@@ -737,6 +800,305 @@ class HttpActionTest {
         testContext);
   }
 
+  @Test
+  @DisplayName("Expect endpoint called once when response is fresh")
+  void endpointCalledOnceWhenResponseFresh(VertxTestContext testContext, Vertx vertx)
+      throws Throwable {
+    // given
+    wireMockServer.stubFor(get(urlEqualTo(VALID_REQUEST_PATH))
+        .willReturn(aResponse()
+            .withHeader("Content-Type", APPLICATION_JSON)
+            .withHeader("Cache-Control", "max-age=60")
+            .withBody(JSON_BODY)));
+    HttpAction tested = cachingAction(vertx);
+    ClientRequest clientRequest = prepareClientRequest(MultiMap.caseInsensitiveMultiMap(),
+        MultiMap.caseInsensitiveMultiMap(), VALID_REQUEST_PATH);
+
+    // when
+    tested.apply(new FragmentContext(createFragment(), clientRequest),
+        testContext.succeeding(first -> tested.apply(
+            new FragmentContext(createFragment(), clientRequest),
+            testContext.succeeding(second -> {
+              // then
+              testContext.verify(() -> {
+                assertEquals(SUCCESS_TRANSITION, second.getTransition());
+                assertEquals(new JsonObject(JSON_BODY), new ActionPayload(
+                    second.getFragment().getPayload().getJsonObject(ACTION_ALIAS)).getResult());
+                wireMockServer.verify(1, getRequestedFor(urlEqualTo(VALID_REQUEST_PATH)));
+              });
+              testContext.completeNow();
+            }))));
+
+    assertTrue(testContext.awaitCompletion(60, TimeUnit.SECONDS));
+    if (testContext.failed()) {
+      throw testContext.causeOfFailure();
+    }
+  }
+
+  @Test
+  @DisplayName("Expect cached payload when endpoint responded with not modified to conditional request")
+  void cachedPayloadWhenResponseNotModified(VertxTestContext testContext, Vertx vertx)
+      throws Throwable {
+    // given
+    wireMockServer.stubFor(get(urlEqualTo(VALID_REQUEST_PATH))
+        .willReturn(aResponse()
+            .withHeader("Content-Type", APPLICATION_JSON)
+            .withHeader("Cache-Control", "no-cache")
+            .withHeader("ETag", "\"v1\"")
+            .withBody(JSON_BODY)));
+    wireMockServer.stubFor(get(urlEqualTo(VALID_REQUEST_PATH))
+        .withHeader("If-None-Match", equalTo("\"v1\""))
+        .willReturn(aResponse()
+            .withStatus(HttpResponseStatus.NOT_MODIFIED.code())));
+    HttpAction tested = cachingAction(vertx);
+    ClientRequest clientRequest = prepareClientRequest(MultiMap.caseInsensitiveMultiMap(),
+        MultiMap.caseInsensitiveMultiMap(), VALID_REQUEST_PATH);
+
+    // when
+    tested.apply(new FragmentContext(createFragment(), clientRequest),
+        testContext.succeeding(first -> tested.apply(
+            new FragmentContext(createFragment(), clientRequest),
+            testContext.succeeding(second -> {
+              // then
+              testContext.verify(() -> {
+                assertEquals(SUCCESS_TRANSITION, second.getTransition());
+                assertEquals(new JsonObject(JSON_BODY), new ActionPayload(
+                    second.getFragment().getPayload().getJsonObject(ACTION_ALIAS)).getResult());
+                wireMockServer.verify(1, getRequestedFor(urlEqualTo(VALID_REQUEST_PATH))
+                    .withHeader("If-None-Match", equalTo("\"v1\"")));
+              });
+              testContext.completeNow();
+            }))));
+
+    assertTrue(testContext.awaitCompletion(60, TimeUnit.SECONDS));
+    if (testContext.failed()) {
+      throw testContext.causeOfFailure();
+    }
+  }
+
+  @Test
+  @DisplayName("Expect stored lifetime applied when not modified response has no freshness headers")
+  void storedLifetimeAppliedWhenNotModifiedWithoutFreshness(VertxTestContext testContext,
+      Vertx vertx) throws Throwable {
+    // given
+    wireMockServer.stubFor(get(urlEqualTo(VALID_REQUEST_PATH))
+        .willReturn(aResponse()
+            .withHeader("Content-Type", APPLICATION_JSON)
+            .withHeader("Cache-Control", "max-age=1")
+            .withHeader("ETag", "\"v1\"")
+            .withBody(JSON_BODY)));
+    wireMockServer.stubFor(get(urlEqualTo(VALID_REQUEST_PATH))
+        .withHeader("If-None-Match", equalTo("\"v1\""))
+        .willReturn(aResponse()
+            .withStatus(HttpResponseStatus.NOT_MODIFIED.code())
+            .withHeader("ETag", "\"v1\"")));
+    HttpAction tested = cachingAction(vertx);
+    ClientRequest clientRequest = prepareClientRequest(MultiMap.caseInsensitiveMultiMap(),
+        MultiMap.caseInsensitiveMultiMap(), VALID_REQUEST_PATH);
+
+    // when
+    tested.apply(new FragmentContext(createFragment(), clientRequest),
+        testContext.succeeding(first -> vertx.setTimer(1100, timerId -> tested.apply(
+            new FragmentContext(createFragment(), clientRequest),
+            testContext.succeeding(revalidated -> tested.apply(
+                new FragmentContext(createFragment(), clientRequest),
+                testContext.succeeding(third -> {
+                  // then
+                  testContext.verify(() -> {
+                    assertEquals(SUCCESS_TRANSITION, third.getTransition());
+                    wireMockServer.verify(2, getRequestedFor(urlEqualTo(VALID_REQUEST_PATH)));
+                    wireMockServer.verify(1, getRequestedFor(urlEqualTo(VALID_REQUEST_PATH))
+                        .withHeader("If-None-Match", equalTo("\"v1\"")));
+                  });
+                  testContext.completeNow();
+                })))))));
+
+    assertTrue(testContext.awaitCompletion(60, TimeUnit.SECONDS));
+    if (testContext.failed()) {
+      throw testContext.causeOfFailure();
+    }
+  }
+
+  @Test
+  @DisplayName("Expect cached response kept when revalidation failed with server error")
+  void cachedResponseKeptWhenRevalidationFailed(VertxTestContext testContext, Vertx vertx)
+      throws Throwable {
+    // given
+    wireMockServer.stubFor(get(urlEqualTo(VALID_REQUEST_PATH))
+        .willReturn(aResponse()
+            .withHeader("Content-Type", APPLICATION_JSON)
+            .withHeader("Cache-Control", "no-cache")
+            .withHeader("ETag", "\"v1\"")
+            .withBody(JSON_BODY)));
+    wireMockServer.stubFor(get(urlEqualTo(VALID_REQUEST_PATH))
+        .withHeader("If-None-Match", equalTo("\"v1\""))
+        .inScenario("revalidation")
+        .whenScenarioStateIs(Scenario.STARTED)
+        .willReturn(aResponse()
+            .withStatus(HttpResponseStatus.SERVICE_UNAVAILABLE.code()))
+        .willSetStateTo("recovered"));
+    wireMockServer.stubFor(get(urlEqualTo(VALID_REQUEST_PATH))
+        .withHeader("If-None-Match", equalTo("\"v1\""))
+        .inScenario("revalidation")
+        .whenScenarioStateIs("recovered")
+        .willReturn(aResponse()
+            .withStatus(HttpResponseStatus.NOT_MODIFIED.code())));
+    HttpAction tested = cachingAction(vertx);
+    ClientRequest clientRequest = prepareClientRequest(MultiMap.caseInsensitiveMultiMap(),
+        MultiMap.caseInsensitiveMultiMap(), VALID_REQUEST_PATH);
+
+    // when
+    tested.apply(new FragmentContext(createFragment(), clientRequest),
+        testContext.succeeding(first -> tested.apply(
+            new FragmentContext(createFragment(), clientRequest),
+            testContext.succeeding(failed -> tested.apply(
+                new FragmentContext(createFragment(), clientRequest),
+                testContext.succeeding(third -> {
+                  // then
+                  testContext.verify(() -> {
+                    assertEquals(SUCCESS_TRANSITION, third.getTransition());
+                    assertEquals(new JsonObject(JSON_BODY), new ActionPayload(
+                        third.getFragment().getPayload().getJsonObject(ACTION_ALIAS))
+                        .getResult());
+                    wireMockServer.verify(2, getRequestedFor(urlEqualTo(VALID_REQUEST_PATH))
+                        .withHeader("If-None-Match", equalTo("\"v1\"")));
+                  });
+                  testContext.completeNow();
+                }))))));
+
+    assertTrue(testContext.awaitCompletion(60, TimeUnit.SECONDS));
+    if (testContext.failed()) {
+      throw testContext.causeOfFailure();
+    }
+  }
+
+  @Test
+  @DisplayName("Expect POST request with body template resolved with values from fragment payload")
+  void postRequestWithBodyResolvedWithPayload(VertxTestContext testContext, Vertx vertx)
+      throws Throwable {
+    // given, when
+    wireMockServer.stubFor(post(urlEqualTo(VALID_REQUEST_PATH))
+        .withRequestBody(equalToJson("{\"ids\": [21762532], \"lang\": \"en\"}"))
+        .willReturn(aResponse()
+            .withHeader("Content-Type", APPLICATION_JSON)
+            .withBody(JSON_BODY)));
+    EndpointOptions endpointOptions = new EndpointOptions()
+        .setPath(VALID_REQUEST_PATH)
+        .setDomain("localhost")
+        .setPort(wireMockServer.port())
+        .setAdditionalHeaders(new JsonObject().put("Content-Type", APPLICATION_JSON))
+        .setBody("{\"ids\": [{payload.product.id}], \"lang\": \"en\"}");
+    HttpAction tested = new HttpAction(createDefaultWebClient(vertx),
+        new HttpActionOptions()
+            .setHttpMethod("POST")
+            .setEndpointOptions(endpointOptions)
+            .setLogLevel(actionLogLevel.getLevel()),
+        ACTION_ALIAS);
+    ClientRequest clientRequest = prepareClientRequest(MultiMap.caseInsensitiveMultiMap(),
+        MultiMap.caseInsensitiveMultiMap(), VALID_REQUEST_PATH);
+
+    // then
+    verifyExecution(tested, clientRequest,
+        createFragment().appendPayload("product", new JsonObject().put("id", 21762532)),
+        fragmentResult -> {
+          assertEquals(SUCCESS_TRANSITION, fragmentResult.getTransition());
+          ActionPayload payload = new ActionPayload(
+              fragmentResult.getFragment()
+                  .getPayload()
+                  .getJsonObject(ACTION_ALIAS));
+          assertEquals(new JsonObject(JSON_BODY), payload.getResult());
+        }, testContext);
+  }
+
+  @Test
+  @DisplayName("Expect POST request with JSON body template resolved with escaped values")
+  void postRequestWithJsonBodyValuesEscaped(VertxTestContext testContext, Vertx vertx)
+      throws Throwable {
+    // given, when
+    wireMockServer.stubFor(post(urlEqualTo(VALID_REQUEST_PATH))
+        .withRequestBody(equalToJson("{\"query\": \"say \\\"hi\\\", \\\"admin\\\": true\"}"))
+        .willReturn(aResponse()
+            .withHeader("Content-Type", APPLICATION_JSON)
+            .withBody(JSON_BODY)));
+    EndpointOptions endpointOptions = new EndpointOptions()
+        .setPath(VALID_REQUEST_PATH)
+        .setDomain("localhost")
+        .setPort(wireMockServer.port())
+        .setAdditionalHeaders(new JsonObject().put("Content-Type", APPLICATION_JSON))
+        .setBody("{\"query\": \"{param.query}\"}");
+    HttpAction tested = new HttpAction(createDefaultWebClient(vertx),
+        new HttpActionOptions()
+            .setHttpMethod("POST")
+            .setEndpointOptions(endpointOptions)
+            .setLogLevel(actionLogLevel.getLevel()),
+        ACTION_ALIAS);
+    ClientRequest clientRequest = prepareClientRequest(
+        MultiMap.caseInsensitiveMultiMap().add("query", "say \"hi\", \"admin\": true"),
+        MultiMap.caseInsensitiveMultiMap(), VALID_REQUEST_PATH);
+
+    // then
+    verifyExecution(tested, clientRequest, createFragment(),
+        fragmentResult -> assertEquals(SUCCESS_TRANSITION, fragmentResult.getTransition()),
+        testContext);
+  }
+
+  @Test
+  @DisplayName("Expect request composed for deduplication key reused by invocation with the same context")
+  void requestComposedForDeduplicationKeyReused(VertxTestContext testContext, Vertx vertx)
+      throws Throwable {
+    // given
+    wireMockServer.stubFor(get(urlEqualTo("/products/1"))
+        .willReturn(aResponse()
+            .withHeader("Content-Type", APPLICATION_JSON)
+            .withBody(JSON_BODY)));
+    EndpointOptions endpointOptions = new EndpointOptions()
+        .setPath("/products/{payload.product.id}")
+        .setDomain("localhost")
+        .setPort(wireMockServer.port());
+    HttpAction tested = new HttpAction(createDefaultWebClient(vertx),
+        new HttpActionOptions()
+            .setEndpointOptions(endpointOptions)
+            .setLogLevel(actionLogLevel.getLevel()),
+        ACTION_ALIAS);
+    Fragment fragment = createFragment()
+        .appendPayload("product", new JsonObject().put("id", 1));
+    FragmentContext fragmentContext = new FragmentContext(fragment, prepareClientRequest(
+        MultiMap.caseInsensitiveMultiMap(), MultiMap.caseInsensitiveMultiMap(),
+        VALID_REQUEST_PATH));
+    tested.getDeduplicationKey(fragmentContext);
+
+    // when
+    // the changed payload is not resolved again, the request composed for the key is sent
+    fragment.appendPayload("product", new JsonObject().put("id", 2));
+    tested.apply(fragmentContext, testContext.succeeding(result -> {
+      // then
+      testContext.verify(() -> {
+        assertEquals(SUCCESS_TRANSITION, result.getTransition());
+        wireMockServer.verify(1, getRequestedFor(urlEqualTo("/products/1")));
+      });
+      testContext.completeNow();
+    }));
+
+    assertTrue(testContext.awaitCompletion(60, TimeUnit.SECONDS));
+    if (testContext.failed()) {
+      throw testContext.causeOfFailure();
+    }
+  }
+
+  private HttpAction cachingAction(Vertx vertx) {
+    EndpointOptions endpointOptions = new EndpointOptions()
+        .setPath(VALID_REQUEST_PATH)
+        .setDomain("localhost")
+        .setPort(wireMockServer.port());
+
+    return new HttpAction(createDefaultWebClient(vertx),
+        new HttpActionOptions()
+            .setEndpointOptions(endpointOptions)
+            .setResponseCache(new HttpCacheOptions())
+            .setLogLevel(actionLogLevel.getLevel()),
+        ACTION_ALIAS);
+  }
+
   private HttpAction successAction(Vertx vertx, String responseBody) {
     return getHttpAction(vertx, HttpActionTest.VALID_REQUEST_PATH, responseBody,
         HttpResponseStatus.OK.code(), null);
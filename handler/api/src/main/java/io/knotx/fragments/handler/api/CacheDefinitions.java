@@ -0,0 +1,58 @@
+/*
+ * Copyright (C) 2019 Knot.x Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.fragments.handler.api;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.shareddata.LocalMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Named cache definitions declared in the handler options. Definitions are kept in the Vert.x
+ * local shared data, so actions of all verticle instances can reference the same caches by name.
+ */
+public final class CacheDefinitions {
+
+  private static final String DEFINITIONS_MAP = "knotx.fragments.cache-definitions";
+
+  private CacheDefinitions() {
+    // util class
+  }
+
+  /**
+   * Registers cache definitions, a definition with the same name is replaced.
+   *
+   * @param vertx - vertx instance
+   * @param definitions - cache configurations by cache name
+   */
+  public static void register(Vertx vertx, Map<String, JsonObject> definitions) {
+    LocalMap<String, JsonObject> registered = vertx.sharedData().getLocalMap(DEFINITIONS_MAP);
+    definitions.forEach(registered::put);
+  }
+
+  /**
+   * Finds the cache definition.
+   *
+   * @param vertx - vertx instance
+   * @param name - cache name
+   * @return cache configuration or empty when the cache is not defined
+   */
+  public static Optional<JsonObject> get(Vertx vertx, String name) {
+    LocalMap<String, JsonObject> registered = vertx.sharedData().getLocalMap(DEFINITIONS_MAP);
+    return Optional.ofNullable(registered.get(name));
+  }
+}
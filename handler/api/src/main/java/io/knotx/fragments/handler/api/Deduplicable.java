@@ -0,0 +1,39 @@
+/*
+ * Copyright (C) 2019 Knot.x Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.fragments.handler.api;
+
+import io.knotx.fragments.handler.api.domain.FragmentContext;
+import java.util.Optional;
+
+/**
+ * Marks {@link Action} whose identical invocations within a single request can be executed once.
+ * Such an action must modify only the fragment payload, the payload entries appended by the
+ * single invocation are copied to all fragments invoking it.
+ */
+public interface Deduplicable {
+
+  /**
+   * Returns the key identifying the action invocation inputs (e.g. the resolved request of an
+   * HTTP endpoint). Invocations of the same action with equal keys are executed once per request.
+   * When the invocation is executed, it gets the same context, so the work done for the key can be
+   * reused (e.g. stored in the request scope).
+   *
+   * @param fragmentContext - contains both fragment and client request
+   * @return invocation key or empty when the invocation should not be deduplicated
+   */
+  Optional<String> getDeduplicationKey(FragmentContext fragmentContext);
+
+}
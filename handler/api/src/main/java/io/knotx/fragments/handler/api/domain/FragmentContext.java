@@ -18,6 +18,7 @@ package io.knotx.fragments.handler.api.domain;
 import io.knotx.fragments.api.Fragment;
 import io.knotx.server.api.context.ClientRequest;
 import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.annotations.GenIgnore;
 import io.vertx.core.json.JsonObject;
 import java.util.Objects;
 
@@ -29,24 +30,46 @@ public class FragmentContext {
 
   private static final String FRAGMENT_KEY = "fragment";
   private static final String CLIENT_REQUEST_KEY = "clientRequest";
+  private static final String DEADLINE_KEY = "deadline";
+
+  /**
+   * Deadline value meaning that the processing time is not limited.
+   */
+  public static final long NO_DEADLINE = Long.MAX_VALUE;
 
   private final Fragment fragment;
   private final ClientRequest clientRequest;
+  private final long deadline;
+  private final RequestScope requestScope;
 
   public FragmentContext(Fragment fragment, ClientRequest clientRequest) {
+    this(fragment, clientRequest, NO_DEADLINE);
+  }
+
+  public FragmentContext(Fragment fragment, ClientRequest clientRequest, long deadline) {
+    this(fragment, clientRequest, deadline, new RequestScope());
+  }
+
+  public FragmentContext(Fragment fragment, ClientRequest clientRequest, long deadline,
+      RequestScope requestScope) {
     this.fragment = fragment;
     this.clientRequest = clientRequest;
+    this.deadline = deadline;
+    this.requestScope = requestScope;
   }
 
   public FragmentContext(JsonObject json) {
     this.fragment = new Fragment(json.getJsonObject(FRAGMENT_KEY));
     this.clientRequest = new ClientRequest(json.getJsonObject(CLIENT_REQUEST_KEY));
+    this.deadline = json.getLong(DEADLINE_KEY, NO_DEADLINE);
+    this.requestScope = new RequestScope();
   }
 
   public JsonObject toJson() {
     return new JsonObject()
         .put(FRAGMENT_KEY, fragment.toJson())
-        .put(CLIENT_REQUEST_KEY, clientRequest.toJson());
+        .put(CLIENT_REQUEST_KEY, clientRequest.toJson())
+        .put(DEADLINE_KEY, deadline);
   }
 
   /**
@@ -68,6 +91,52 @@ public class FragmentContext {
     return clientRequest;
   }
 
+  /**
+   * Time (in milliseconds since the epoch) after which the request processing result is useless.
+   * Actions should not start work that ends after the deadline. {@link #NO_DEADLINE} when the
+   * processing time is not limited.
+   *
+   * @return deadline in milliseconds since the epoch
+   */
+  public long getDeadline() {
+    return deadline;
+  }
+
+  /**
+   * Attributes shared by all fragments of the request. The scope is not serialized, so it is
+   * empty when the context is transferred (e.g. via Event Bus).
+   *
+   * @return request scope
+   */
+  @GenIgnore
+  public RequestScope getRequestScope() {
+    return requestScope;
+  }
+
+  /**
+   * Time left to the deadline (see {@link #getDeadline()}).
+   *
+   * @return remaining time in milliseconds (zero when the deadline has passed) or {@code
+   * Long.MAX_VALUE} when there is no deadline
+   */
+  public long getRemainingTimeMs() {
+    return remainingTimeMs(deadline);
+  }
+
+  /**
+   * Calculates time left to the deadline.
+   *
+   * @param deadline deadline in milliseconds since the epoch or {@link #NO_DEADLINE}
+   * @return remaining time in milliseconds (zero when the deadline has passed) or {@code
+   * Long.MAX_VALUE} when there is no deadline
+   */
+  public static long remainingTimeMs(long deadline) {
+    if (deadline == NO_DEADLINE) {
+      return Long.MAX_VALUE;
+    }
+    return Math.max(0L, deadline - System.currentTimeMillis());
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
@@ -77,13 +146,14 @@ public class FragmentContext {
       return false;
     }
     FragmentContext that = (FragmentContext) o;
-    return Objects.equals(fragment, that.fragment) &&
+    return deadline == that.deadline &&
+        Objects.equals(fragment, that.fragment) &&
         Objects.equals(clientRequest, that.clientRequest);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(fragment, clientRequest);
+    return Objects.hash(fragment, clientRequest, deadline);
   }
 
   @Override
@@ -91,6 +161,7 @@ public class FragmentContext {
     return "FragmentContext{" +
         "fragment=" + fragment +
         ", clientRequest=" + clientRequest +
+        ", deadline=" + deadline +
         '}';
   }
 }
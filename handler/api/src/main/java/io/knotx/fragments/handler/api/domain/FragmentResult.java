@@ -33,6 +33,7 @@ public class FragmentResult {
 
   public static final String SUCCESS_TRANSITION = "_success";
   public static final String ERROR_TRANSITION = "_error";
+  public static final String TIMEOUT_TRANSITION = "_timeout";
 
   private static final String FRAGMENT_KEY = "fragment";
   private static final String TRANSITION_KEY = "transition";
@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2019 Knot.x Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.fragments.handler.api.domain;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Attributes shared by all fragments of a single request. Nodes and actions can use it to share
+ * work done for the request (e.g. to execute identical action invocations once). The scope is not
+ * transferred with the serialized {@link FragmentContext}.
+ */
+public class RequestScope {
+
+  private final ConcurrentMap<String, Object> attributes = new ConcurrentHashMap<>();
+
+  /**
+   * Returns the attribute value, computes it first when the attribute is absent. The value is
+   * computed once per request, even when called concurrently.
+   *
+   * @param key - attribute key
+   * @param valueFunction - function computing the value
+   * @param <T> - value type
+   * @return the current (existing or computed) value
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T computeIfAbsent(String key, Function<String, T> valueFunction) {
+    return (T) attributes.computeIfAbsent(key, valueFunction);
+  }
+
+  /**
+   * Removes the attribute, e.g. a value computed for a single later use.
+   *
+   * @param key - attribute key
+   * @param <T> - value type
+   * @return the removed value or empty when the attribute is absent
+   */
+  @SuppressWarnings("unchecked")
+  public <T> Optional<T> remove(String key) {
+    return Optional.ofNullable((T) attributes.remove(key));
+  }
+
+  @Override
+  public String toString() {
+    return "RequestScope{" +
+        "attributes=" + attributes.keySet() +
+        '}';
+  }
+}
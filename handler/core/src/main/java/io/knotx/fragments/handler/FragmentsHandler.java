@@ -18,12 +18,16 @@
 package io.knotx.fragments.handler;
 
 import io.knotx.fragments.api.Fragment;
+import io.knotx.fragments.engine.EngineMetrics;
 import io.knotx.fragments.engine.FragmentEvent;
 import io.knotx.fragments.engine.FragmentEvent.Status;
 import io.knotx.fragments.engine.FragmentEventContext;
 import io.knotx.fragments.engine.FragmentEventContextTaskAware;
 import io.knotx.fragments.engine.FragmentsEngine;
 import io.knotx.fragments.engine.Task;
+import io.knotx.fragments.handler.api.CacheDefinitions;
+import io.knotx.fragments.handler.api.domain.FragmentContext;
+import io.knotx.fragments.handler.api.domain.RequestScope;
 import io.knotx.fragments.handler.consumer.FragmentEventsConsumerProvider;
 import io.knotx.server.api.context.ClientRequest;
 import io.knotx.server.api.context.RequestContext;
@@ -37,8 +41,14 @@ import io.vertx.core.json.JsonObject;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 import io.vertx.reactivex.core.Vertx;
+import io.vertx.reactivex.core.WorkerExecutor;
 import io.vertx.reactivex.ext.web.RoutingContext;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -51,14 +61,37 @@ public class FragmentsHandler implements Handler<RoutingContext> {
   private final FragmentsEngine engine;
   private final TaskProvider taskProvider;
   private final FragmentEventsConsumerProvider fragmentEventsConsumerProvider;
+  private final long processingTimeoutMs;
 
   FragmentsHandler(Vertx vertx, JsonObject options) {
     FragmentsHandlerOptions handlerOptions = new FragmentsHandlerOptions(options);
+    // caches are defined before actions referencing them are created
+    CacheDefinitions.register(vertx.getDelegate(), handlerOptions.getCaches());
+    // node factories (e.g. hedged) execute blocking work with the same pools as the engine
+    WorkerPools.register(vertx, handlerOptions.getWorkerPools());
     taskProvider = new TaskProvider(handlerOptions.getTaskFactories(), vertx);
-    engine = new FragmentsEngine(vertx);
+    engine = new FragmentsEngine(vertx, createWorkerPools(vertx, handlerOptions),
+        handlerOptions.getMaxInFlightFragmentsPerRequest(),
+        handlerOptions.getMaxInFlightFragments());
     requestContextEngine = new DefaultRequestContextEngine(getClass().getSimpleName());
     fragmentEventsConsumerProvider = new FragmentEventsConsumerProvider(
         handlerOptions.getConsumerFactories());
+    processingTimeoutMs = handlerOptions.getProcessingTimeoutMs();
+  }
+
+  /**
+   * Routing handlers have no stop callback, so executors are not closed by the handler. Vert.x
+   * closes executors created within a verticle when the verticle (e.g. the server verticle creating
+   * this handler) is undeployed. Executors created outside of a verticle live as long as the Vert.x
+   * instance. Shared executors with the same name share one pool, which is released when the last
+   * of them is closed.
+   */
+  private Map<String, WorkerExecutor> createWorkerPools(Vertx vertx,
+      FragmentsHandlerOptions handlerOptions) {
+    Map<String, WorkerExecutor> workerPools = new HashMap<>();
+    handlerOptions.getWorkerPools().keySet().forEach(name -> WorkerPools.create(vertx, name)
+        .ifPresent(executor -> workerPools.put(name, executor)));
+    return workerPools;
   }
 
   @Override
@@ -81,9 +114,40 @@ public class FragmentsHandler implements Handler<RoutingContext> {
 
   protected Single<List<FragmentEvent>> doHandle(List<Fragment> fragments,
       ClientRequest clientRequest) {
-    return Single.just(fragments)
-        .map(f -> toEvents(f, clientRequest))
-        .flatMap(engine::execute);
+    return Single.defer(() -> {
+      FragmentEvent[] events = new FragmentEvent[fragments.size()];
+      int[] taskPositions = new int[fragments.size()];
+      List<FragmentEventContextTaskAware> tasks = toTasks(fragments, clientRequest, deadline(),
+          events, taskPositions);
+      if (tasks.isEmpty()) {
+        // no fragment requires processing, the engine is not involved at all
+        return Single.just(Arrays.asList(events));
+      }
+      return engine.execute(tasks)
+          .doOnSubscribe(d -> logEngineMetrics())
+          .map(processed -> {
+            for (int i = 0; i < processed.size(); i++) {
+              events[taskPositions[i]] = processed.get(i);
+            }
+            return Arrays.asList(events);
+          });
+    });
+  }
+
+  private long deadline() {
+    return processingTimeoutMs > 0
+        ? System.currentTimeMillis() + processingTimeoutMs
+        : FragmentContext.NO_DEADLINE;
+  }
+
+  private void logEngineMetrics() {
+    if (LOGGER.isDebugEnabled()) {
+      EngineMetrics metrics = engine.getMetrics();
+      LOGGER.debug(
+          "Fragments in flight [{}], queued [{}], queued in total [{}], cancelled node executions [{}]",
+          metrics.getInFlightFragments(), metrics.getQueuedFragments(),
+          metrics.getTotalQueuedFragments(), metrics.getCancelledNodeExecutions());
+    }
   }
 
   private void enrichWithEventConsumers(ClientRequest clientRequest,
@@ -131,28 +195,32 @@ public class FragmentsHandler implements Handler<RoutingContext> {
         .collect(Collectors.toList());
   }
 
-  private List<FragmentEventContextTaskAware> toEvents(List<Fragment> fragments,
-      ClientRequest clientRequest) {
+  /**
+   * Creates tasks for fragments accepted by task factories. Fragments without tasks (e.g. static
+   * ones) are not passed to the engine, their events are put directly into {@code events}.
+   * Positions of fragments with tasks are stored in {@code taskPositions}.
+   */
+  private List<FragmentEventContextTaskAware> toTasks(List<Fragment> fragments,
+      ClientRequest clientRequest, long deadline, FragmentEvent[] events, int[] taskPositions) {
     LOGGER.trace("Processing fragments [{}]", fragments);
-    return fragments.stream()
-        .map(
-            fragment -> {
-              FragmentEventContext fragmentEventContext = new FragmentEventContext(
-                  new FragmentEvent(fragment), clientRequest);
-
-              return taskProvider.newInstance(fragmentEventContext)
-                  .map(task -> {
-                    LOGGER.trace("Created task [{}] for fragment [{}]", task,
-                        fragmentEventContext.getFragmentEvent().getFragment().getId());
-                    return task;
-                  })
-                  .map(
-                      task -> new FragmentEventContextTaskAware(task, fragmentEventContext))
-                  .orElseGet(() -> new FragmentEventContextTaskAware(new Task("_NOT_DEFINED"),
-                      fragmentEventContext));
-            })
-        .collect(
-            Collectors.toList());
+    List<FragmentEventContextTaskAware> tasks = new ArrayList<>();
+    // shared by all fragments of the request, e.g. identical action invocations are executed once
+    RequestScope requestScope = new RequestScope();
+    int position = 0;
+    for (Fragment fragment : fragments) {
+      FragmentEventContext fragmentEventContext = new FragmentEventContext(
+          new FragmentEvent(fragment), clientRequest, deadline, requestScope);
+      Optional<Task> task = taskProvider.newInstance(fragmentEventContext);
+      if (task.isPresent()) {
+        LOGGER.trace("Created task [{}] for fragment [{}]", task.get(), fragment.getId());
+        taskPositions[tasks.size()] = position;
+        tasks.add(new FragmentEventContextTaskAware(task.get(), fragmentEventContext));
+      } else {
+        events[position] = fragmentEventContext.getFragmentEvent();
+      }
+      position++;
+    }
+    return tasks;
   }
 
 }
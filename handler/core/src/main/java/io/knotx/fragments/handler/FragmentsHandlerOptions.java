@@ -15,11 +15,14 @@
  */
 package io.knotx.fragments.handler;
 
+import io.knotx.fragments.engine.FragmentsEngine;
+import io.knotx.fragments.handler.api.exception.ConfigurationException;
 import io.knotx.fragments.spi.FactoryOptions;
 import io.vertx.codegen.annotations.DataObject;
 import io.vertx.core.json.JsonObject;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Fragments Handler options model.
@@ -31,6 +34,16 @@ public class FragmentsHandlerOptions {
 
   private List<FactoryOptions> consumerFactories = Collections.emptyList();
 
+  private Map<String, WorkerPoolOptions> workerPools = Collections.emptyMap();
+
+  private int maxInFlightFragmentsPerRequest = FragmentsEngine.DEFAULT_MAX_IN_FLIGHT_PER_REQUEST;
+
+  private int maxInFlightFragments = FragmentsEngine.DEFAULT_MAX_IN_FLIGHT;
+
+  private long processingTimeoutMs = 0L;
+
+  private Map<String, JsonObject> caches = Collections.emptyMap();
+
   public FragmentsHandlerOptions(JsonObject json) {
     FragmentsHandlerOptionsConverter.fromJson(json, this);
   }
@@ -72,6 +85,102 @@ public class FragmentsHandlerOptions {
     return this;
   }
 
+  public Map<String, WorkerPoolOptions> getWorkerPools() {
+    return workerPools;
+  }
+
+  /**
+   * The map of named worker pools. Blocking actions can be assigned to a pool by its name (see
+   * {@code ActionFactoryOptions#setWorkerPool}), so that slow actions do not exhaust the default
+   * Vert.x worker pool.
+   *
+   * @param workerPools - a map of worker pool options by pool name
+   * @return reference to this, so the API can be used fluently
+   */
+  public FragmentsHandlerOptions setWorkerPools(Map<String, WorkerPoolOptions> workerPools) {
+    this.workerPools = workerPools;
+    return this;
+  }
+
+  public int getMaxInFlightFragmentsPerRequest() {
+    return maxInFlightFragmentsPerRequest;
+  }
+
+  /**
+   * The maximum number of fragments of a single request processed at the same time. Other fragments
+   * of the request wait in the queue. Default value is 128.
+   *
+   * @param maxInFlightFragmentsPerRequest - a maximum number of fragments, must be positive
+   * @return reference to this, so the API can be used fluently
+   */
+  public FragmentsHandlerOptions setMaxInFlightFragmentsPerRequest(
+      int maxInFlightFragmentsPerRequest) {
+    this.maxInFlightFragmentsPerRequest = requirePositive("maxInFlightFragmentsPerRequest",
+        maxInFlightFragmentsPerRequest);
+    return this;
+  }
+
+  public int getMaxInFlightFragments() {
+    return maxInFlightFragments;
+  }
+
+  /**
+   * The maximum number of fragments processed at the same time by the handler, shared by all
+   * requests. Other fragments wait in the queue, so a single heavy request can not saturate backends
+   * and worker pools. By default there is no limit.
+   *
+   * @param maxInFlightFragments - a maximum number of fragments, must be positive
+   * @return reference to this, so the API can be used fluently
+   */
+  public FragmentsHandlerOptions setMaxInFlightFragments(int maxInFlightFragments) {
+    this.maxInFlightFragments = requirePositive("maxInFlightFragments", maxInFlightFragments);
+    return this;
+  }
+
+  public long getProcessingTimeoutMs() {
+    return processingTimeoutMs;
+  }
+
+  /**
+   * The time budget (in milliseconds) for processing all fragments of a request. When the budget
+   * is exhausted, running node operations are abandoned and the {@code _timeout} transition (or
+   * {@code _error} if {@code _timeout} is not defined) is applied. Nodes processed after the timeout
+   * (fallbacks) are not limited. Setting zero or a negative value disables the timeout. By default
+   * it is set to {@code 0}.
+   *
+   * @param processingTimeoutMs - the time budget in milliseconds
+   * @return reference to this, so the API can be used fluently
+   */
+  public FragmentsHandlerOptions setProcessingTimeoutMs(long processingTimeoutMs) {
+    this.processingTimeoutMs = processingTimeoutMs;
+    return this;
+  }
+
+  public Map<String, JsonObject> getCaches() {
+    return caches;
+  }
+
+  /**
+   * The map of named cache configurations. Actions can reference a cache by its name (e.g. {@code
+   * cacheName} of the in-memory cache action), so values are shared between actions and verticle
+   * instances instead of being cached by each action separately.
+   *
+   * @param caches - a map of cache configurations by cache name
+   * @return reference to this, so the API can be used fluently
+   */
+  public FragmentsHandlerOptions setCaches(Map<String, JsonObject> caches) {
+    this.caches = caches;
+    return this;
+  }
+
+  private static int requirePositive(String name, int value) {
+    if (value <= 0) {
+      throw new ConfigurationException(
+          "Option [" + name + "] must be a positive number, but was [" + value + "]!");
+    }
+    return value;
+  }
+
   @Override
   public String toString() {
     return "FragmentsHandlerOptions [" + toJson() + ']';
@@ -15,6 +15,7 @@
  */
 package io.knotx.fragments.handler;
 
+import io.knotx.fragments.api.Fragment;
 import io.knotx.fragments.engine.FragmentEventContext;
 import io.knotx.fragments.engine.Task;
 import io.knotx.fragments.handler.exception.TaskFactoryNotFoundException;
@@ -28,25 +29,31 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.ServiceLoader;
 
 class TaskProvider {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(TaskProvider.class);
+  private static final int NOT_FOUND = -1;
 
   private List<TaskFactory> factories;
   private final Vertx vertx;
+  // task name key -> task name -> position of the first factory creating the task
+  private final Map<String, Map<String, Integer>> taskIndex;
 
   TaskProvider(List<FactoryOptions> factoryOptions, Vertx vertx) {
     this.vertx = vertx;
     factories = initFactories(factoryOptions);
+    taskIndex = initTaskIndex();
   }
 
   Optional<Task> newInstance(FragmentEventContext eventContext) {
-    return factories.stream()
-        .filter(f -> f.accept(eventContext))
-        .findFirst()
+    Optional<TaskFactory> factory = taskIndex != null
+        ? findIndexedFactory(eventContext.getFragmentEvent().getFragment())
+        : findAcceptingFactory(eventContext);
+    return factory
         .map(f -> {
           LOGGER.debug("Task factory [{}] accepts fragment [{}]", f.getName(),
               eventContext.getFragmentEvent().getFragment().getId());
@@ -55,6 +62,47 @@ class TaskProvider {
         .map(f -> f.newInstance(eventContext));
   }
 
+  private Optional<TaskFactory> findIndexedFactory(Fragment fragment) {
+    int position = NOT_FOUND;
+    for (Entry<String, Map<String, Integer>> entry : taskIndex.entrySet()) {
+      Object taskName = fragment.getConfigurationValue(entry.getKey());
+      Integer candidate = taskName instanceof String ? entry.getValue().get(taskName) : null;
+      if (candidate != null && (position == NOT_FOUND || candidate < position)) {
+        position = candidate;
+      }
+    }
+    return position == NOT_FOUND ? Optional.empty() : Optional.of(factories.get(position));
+  }
+
+  private Optional<TaskFactory> findAcceptingFactory(FragmentEventContext eventContext) {
+    return factories.stream()
+        .filter(f -> f.accept(eventContext))
+        .findFirst();
+  }
+
+  /**
+   * Indexes task names of all factories, so that a fragment task is resolved with a few hash
+   * lookups. When any factory does not expose its task name key, the index is not created
+   * ({@code null}) and factories are asked one by one.
+   */
+  private Map<String, Map<String, Integer>> initTaskIndex() {
+    boolean indexable = factories.stream().allMatch(f -> f.getTaskNameKey().isPresent());
+    if (!indexable) {
+      LOGGER.info("Not all task factories expose task names, tasks are resolved with accept.");
+      return null;
+    }
+    Map<String, Map<String, Integer>> index = new HashMap<>();
+    for (int position = 0; position < factories.size(); position++) {
+      TaskFactory factory = factories.get(position);
+      Map<String, Integer> tasks = index
+          .computeIfAbsent(factory.getTaskNameKey().get(), key -> new HashMap<>());
+      for (String taskName : factory.getTaskNames()) {
+        tasks.putIfAbsent(taskName, position);
+      }
+    }
+    return index;
+  }
+
   private List<TaskFactory> initFactories(List<FactoryOptions> optionsList) {
     Map<String, TaskFactory> loadedFactories = loadFactories();
 
@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2019 Knot.x Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.fragments.handler;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.json.JsonObject;
+import java.util.Objects;
+
+/**
+ * Worker pool options model. Worker pools are used to execute blocking actions in isolation from
+ * the default Vert.x worker pool.
+ */
+@DataObject(generateConverter = true)
+public class WorkerPoolOptions {
+
+  private static final int DEFAULT_POOL_SIZE = 20;
+  private static final long DEFAULT_MAX_EXECUTE_TIME_MS = 60000L;
+
+  private int poolSize = DEFAULT_POOL_SIZE;
+
+  private long maxExecuteTimeMs = DEFAULT_MAX_EXECUTE_TIME_MS;
+
+  public WorkerPoolOptions() {
+  }
+
+  public WorkerPoolOptions(JsonObject json) {
+    WorkerPoolOptionsConverter.fromJson(json, this);
+  }
+
+  public JsonObject toJson() {
+    JsonObject jsonObject = new JsonObject();
+    WorkerPoolOptionsConverter.toJson(this, jsonObject);
+    return jsonObject;
+  }
+
+  public int getPoolSize() {
+    return poolSize;
+  }
+
+  /**
+   * Sets the maximum number of threads in the worker pool. Default value is 20.
+   *
+   * @param poolSize - the number of threads
+   * @return reference to this, so the API can be used fluently
+   */
+  public WorkerPoolOptions setPoolSize(int poolSize) {
+    this.poolSize = poolSize;
+    return this;
+  }
+
+  public long getMaxExecuteTimeMs() {
+    return maxExecuteTimeMs;
+  }
+
+  /**
+   * Sets the maximum execution time (in milliseconds) of a blocking task after which a warning is
+   * logged. Default value is 60000.
+   *
+   * @param maxExecuteTimeMs - the maximum execution time in milliseconds
+   * @return reference to this, so the API can be used fluently
+   */
+  public WorkerPoolOptions setMaxExecuteTimeMs(long maxExecuteTimeMs) {
+    this.maxExecuteTimeMs = maxExecuteTimeMs;
+    return this;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    WorkerPoolOptions that = (WorkerPoolOptions) o;
+    return poolSize == that.poolSize &&
+        maxExecuteTimeMs == that.maxExecuteTimeMs;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(poolSize, maxExecuteTimeMs);
+  }
+
+  @Override
+  public String toString() {
+    return "WorkerPoolOptions{" +
+        "poolSize=" + poolSize +
+        ", maxExecuteTimeMs=" + maxExecuteTimeMs +
+        '}';
+  }
+}
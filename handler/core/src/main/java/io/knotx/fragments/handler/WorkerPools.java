@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2019 Knot.x Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.fragments.handler;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.shareddata.LocalMap;
+import io.vertx.reactivex.core.Vertx;
+import io.vertx.reactivex.core.WorkerExecutor;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Named worker pools declared in the handler options. Pool options are kept in the Vert.x local
+ * shared data, so node factories can execute work with the same pools as the engine. Pools are
+ * Vert.x shared worker executors, executors created with the same name share one pool.
+ */
+public final class WorkerPools {
+
+  private static final String DEFINITIONS_MAP = "knotx.fragments.worker-pools";
+
+  private WorkerPools() {
+    // util class
+  }
+
+  /**
+   * Registers worker pool options, options of a pool with the same name are replaced.
+   *
+   * @param vertx - vertx instance
+   * @param workerPools - worker pool options by pool name
+   */
+  public static void register(Vertx vertx, Map<String, WorkerPoolOptions> workerPools) {
+    LocalMap<String, JsonObject> registered = definitions(vertx);
+    workerPools.forEach((name, options) -> registered.put(name, options.toJson()));
+  }
+
+  /**
+   * Creates an executor of the registered worker pool.
+   *
+   * @param vertx - vertx instance
+   * @param name - worker pool name
+   * @return executor or empty when the pool is not registered
+   */
+  public static Optional<WorkerExecutor> create(Vertx vertx, String name) {
+    return Optional.ofNullable(definitions(vertx).get(name))
+        .map(WorkerPoolOptions::new)
+        .map(options -> vertx.createSharedWorkerExecutor(name, options.getPoolSize(),
+            options.getMaxExecuteTimeMs(), TimeUnit.MILLISECONDS));
+  }
+
+  private static LocalMap<String, JsonObject> definitions(Vertx vertx) {
+    return vertx.getDelegate().sharedData().getLocalMap(DEFINITIONS_MAP);
+  }
+}
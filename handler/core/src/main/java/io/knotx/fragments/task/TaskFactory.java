@@ -21,6 +21,9 @@ import io.knotx.fragments.handler.FragmentsHandlerOptions;
 import io.knotx.fragments.handler.api.exception.ConfigurationException;
 import io.vertx.core.json.JsonObject;
 import io.vertx.reactivex.core.Vertx;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.Set;
 
 /**
  * A task factory interface allowing to register a task factory by its name. Implementing class must
@@ -53,6 +56,27 @@ public interface TaskFactory {
    */
   boolean accept(FragmentEventContext context);
 
+  /**
+   * Returns the fragment configuration key that holds a task name. Factories that accept exactly the
+   * fragments whose task name (under this key) is one of {@link #getTaskNames()} can return it, so
+   * that the factory is resolved with hash lookups instead of {@link #accept(FragmentEventContext)}
+   * calls.
+   *
+   * @return task name key or empty when {@link #accept(FragmentEventContext)} must be called
+   */
+  default Optional<String> getTaskNameKey() {
+    return Optional.empty();
+  }
+
+  /**
+   * Returns names of tasks the factory creates. Used only together with {@link #getTaskNameKey()}.
+   *
+   * @return names of configured tasks
+   */
+  default Set<String> getTaskNames() {
+    return Collections.emptySet();
+  }
+
   /**
    * Creates the new task instance. It is called only if {@link #accept(FragmentEventContext)}
    * returns <code>true</code>. When called with a fragment that does not provide a task name, then
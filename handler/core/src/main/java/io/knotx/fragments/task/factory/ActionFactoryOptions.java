@@ -26,6 +26,7 @@ public class ActionFactoryOptions {
   private String factory;
   private JsonObject config;
   private String doAction;
+  private String workerPool;
 
   private ActionFactoryOptions() {
   }
@@ -104,6 +105,23 @@ public class ActionFactoryOptions {
     return this;
   }
 
+  public String getWorkerPool() {
+    return workerPool;
+  }
+
+  /**
+   * Sets the name of the worker pool (see {@code FragmentsHandlerOptions#setWorkerPools}) used to
+   * execute the blocking {@code Action}. If not set ({@code null}), the default Vert.x worker pool
+   * is used.
+   *
+   * @param workerPool worker pool name.
+   * @return reference to this, so the API can be used fluently
+   */
+  public ActionFactoryOptions setWorkerPool(String workerPool) {
+    this.workerPool = workerPool;
+    return this;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
@@ -115,12 +133,13 @@ public class ActionFactoryOptions {
     ActionFactoryOptions that = (ActionFactoryOptions) o;
     return Objects.equals(factory, that.factory) &&
         Objects.equals(config, that.config) &&
-        Objects.equals(doAction, that.doAction);
+        Objects.equals(doAction, that.doAction) &&
+        Objects.equals(workerPool, that.workerPool);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(factory, config, doAction);
+    return Objects.hash(factory, config, doAction, workerPool);
   }
 
   @Override
@@ -129,6 +148,7 @@ public class ActionFactoryOptions {
         "factory='" + factory + '\'' +
         ", config=" + config +
         ", doAction='" + doAction + '\'' +
+        ", workerPool='" + workerPool + '\'' +
         '}';
   }
 }
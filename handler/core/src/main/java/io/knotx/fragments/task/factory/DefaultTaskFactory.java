@@ -24,10 +24,14 @@ import io.knotx.fragments.task.TaskFactory;
 import io.knotx.fragments.task.exception.NodeFactoryNotFoundException;
 import io.knotx.fragments.task.factory.node.NodeFactory;
 import io.vertx.core.json.JsonObject;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
 import io.vertx.reactivex.core.Vertx;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.ServiceLoader;
 import java.util.Spliterator;
 import java.util.Spliterators;
@@ -39,8 +43,11 @@ public class DefaultTaskFactory implements TaskFactory, NodeProvider {
 
   public static final String NAME = "default";
 
+  private static final Logger LOGGER = LoggerFactory.getLogger(DefaultTaskFactory.class);
+
   private DefaultTaskFactoryConfig taskFactoryConfig;
   private Map<String, NodeFactory> nodeFactories;
+  private Map<String, Node> taskGraphs;
 
   @Override
   public String getName() {
@@ -51,27 +58,37 @@ public class DefaultTaskFactory implements TaskFactory, NodeProvider {
   public DefaultTaskFactory configure(JsonObject taskFactoryConfig, Vertx vertx) {
     this.taskFactoryConfig = new DefaultTaskFactoryConfig(taskFactoryConfig);
     nodeFactories = initFactories(vertx);
+    taskGraphs = compileTasks();
     return this;
   }
 
   @Override
   public boolean accept(FragmentEventContext eventContext) {
     Fragment fragment = eventContext.getFragmentEvent().getFragment();
-    boolean fragmentContainsTask = fragment.getConfiguration()
-        .containsKey(taskFactoryConfig.getTaskNameKey());
-    return fragmentContainsTask && isTaskConfigured(fragment);
+    Object taskName = fragment.getConfigurationValue(taskFactoryConfig.getTaskNameKey());
+    return taskName instanceof String && taskFactoryConfig.getTasks().containsKey(taskName);
+  }
+
+  @Override
+  public Optional<String> getTaskNameKey() {
+    return Optional.of(taskFactoryConfig.getTaskNameKey());
   }
 
-  private boolean isTaskConfigured(Fragment fragment) {
-    String taskName = fragment.getConfiguration().getString(taskFactoryConfig.getTaskNameKey());
-    return taskFactoryConfig.getTasks().containsKey(taskName);
+  @Override
+  public Set<String> getTaskNames() {
+    return taskFactoryConfig.getTasks().keySet();
   }
 
   @Override
   public Task newInstance(FragmentEventContext eventContext) {
     Fragment fragment = eventContext.getFragmentEvent().getFragment();
     String taskKey = taskFactoryConfig.getTaskNameKey();
-    String taskName = fragment.getConfiguration().getString(taskKey);
+    String taskName = (String) fragment.getConfigurationValue(taskKey);
+
+    Node compiledGraph = taskGraphs.get(taskName);
+    if (compiledGraph != null) {
+      return new Task(taskName, compiledGraph);
+    }
 
     Map<String, GraphNodeOptions> tasks = taskFactoryConfig.getTasks();
     return Optional.ofNullable(tasks.get(taskName))
@@ -82,6 +99,23 @@ public class DefaultTaskFactory implements TaskFactory, NodeProvider {
         .orElseThrow(() -> new ConfigurationException("Task [" + taskName + "] not configured!"));
   }
 
+  /**
+   * Graphs are stateless (the execution state is kept in the engine), so they are initialized once
+   * and shared between requests. A task that can not be initialized is skipped here and reports its
+   * configuration error on every {@link #newInstance(FragmentEventContext)} call.
+   */
+  private Map<String, Node> compileTasks() {
+    Map<String, Node> result = new HashMap<>();
+    taskFactoryConfig.getTasks().forEach((taskName, rootGraphNodeOptions) -> {
+      try {
+        result.put(taskName, initNode(rootGraphNodeOptions));
+      } catch (RuntimeException e) {
+        LOGGER.error("Task [{}] could not be initialized.", e, taskName);
+      }
+    });
+    return result;
+  }
+
   @Override
   public Node initNode(GraphNodeOptions nodeOptions) {
     return findNodeFactory(nodeOptions)
@@ -98,7 +132,7 @@ public class DefaultTaskFactory implements TaskFactory, NodeProvider {
     Map<String, Node> edges = new HashMap<>();
     transitions.forEach((transition, childGraphOptions) -> edges
         .put(transition, initNode(childGraphOptions)));
-    return edges;
+    return Collections.unmodifiableMap(edges);
   }
 
   private Map<String, NodeFactory> initFactories(Vertx vertx) {
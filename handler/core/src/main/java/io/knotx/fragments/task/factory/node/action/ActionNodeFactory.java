@@ -15,19 +15,23 @@
  */
 package io.knotx.fragments.task.factory.node.action;
 
+import io.knotx.fragments.api.Fragment;
 import io.knotx.fragments.engine.graph.Node;
 import io.knotx.fragments.engine.graph.SingleNode;
 import io.knotx.fragments.handler.api.Action;
 import io.knotx.fragments.handler.api.ActionFactory;
+import io.knotx.fragments.handler.api.Deduplicable;
 import io.knotx.fragments.handler.api.domain.FragmentContext;
 import io.knotx.fragments.handler.api.domain.FragmentResult;
 import io.knotx.fragments.task.factory.NodeProvider;
 import io.knotx.fragments.task.factory.node.NodeFactory;
 import io.knotx.fragments.task.factory.GraphNodeOptions;
 import io.reactivex.Single;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.reactivex.core.Vertx;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.ServiceLoader;
@@ -37,6 +41,7 @@ import java.util.function.Supplier;
 public class ActionNodeFactory implements NodeFactory {
 
   public static final String NAME = "action";
+  private static final String DEDUPLICATION_KEY_PREFIX = "action-invocation:";
   private ActionProvider actionProvider;
 
   @Override
@@ -57,6 +62,10 @@ public class ActionNodeFactory implements NodeFactory {
     ActionNodeConfig config = new ActionNodeConfig(nodeOptions.getNode().getConfig());
     Action action = actionProvider.get(config.getAction()).orElseThrow(
         () -> new ActionNotFoundException(config.getAction()));
+    // nodes are shared between requests, so not cacheable actions are created per execution
+    boolean cacheable = actionProvider.isCacheable(config.getAction());
+    boolean nonBlocking = actionProvider.isNonBlocking(config.getAction());
+    Optional<String> workerPool = actionProvider.getWorkerPool(config.getAction());
     return new SingleNode() {
       @Override
       public String getId() {
@@ -70,11 +79,58 @@ public class ActionNodeFactory implements NodeFactory {
 
       @Override
       public Single<FragmentResult> execute(FragmentContext fragmentContext) {
-        return toRxFunction(action).apply(fragmentContext);
+        Action executed = cacheable ? action : actionProvider.get(config.getAction()).orElseThrow(
+            () -> new ActionNotFoundException(config.getAction()));
+        if (!(executed instanceof Deduplicable)) {
+          return toRxFunction(executed).apply(fragmentContext);
+        }
+        // the key is computed for the context the invocation uses, so the action can reuse the
+        // work done for the key (e.g. the composed HTTP request)
+        FragmentContext forkContext = fork(fragmentContext);
+        return ((Deduplicable) executed).getDeduplicationKey(forkContext)
+            .map(key -> executeOnce(config.getAction() + ":" + key, executed, fragmentContext,
+                forkContext))
+            .orElseGet(() -> toRxFunction(executed).apply(fragmentContext));
+      }
+
+      @Override
+      public boolean isNonBlocking() {
+        return nonBlocking;
+      }
+
+      @Override
+      public Optional<String> getWorkerPool() {
+        return workerPool;
       }
     };
   }
 
+  /**
+   * Identical invocations within the request are executed once. The first one is executed on a
+   * fragment fork, payload entries it appends are then copied to fragments of all callers, so
+   * callers do not share mutable payload values.
+   */
+  private Single<FragmentResult> executeOnce(String key, Action action,
+      FragmentContext fragmentContext, FragmentContext forkContext) {
+    Single<InvocationResult> invocation = fragmentContext.getRequestScope()
+        .computeIfAbsent(DEDUPLICATION_KEY_PREFIX + key,
+            k -> invoke(action, fragmentContext.getFragment(), forkContext));
+    return invocation.map(result -> result.applyTo(fragmentContext.getFragment()));
+  }
+
+  private Single<InvocationResult> invoke(Action action, Fragment origin,
+      FragmentContext forkContext) {
+    return toRxFunction(action).apply(forkContext)
+        .map(result -> new InvocationResult(origin, result))
+        .cache();
+  }
+
+  private static FragmentContext fork(FragmentContext fragmentContext) {
+    return new FragmentContext(fragmentContext.getFragment().fork(),
+        fragmentContext.getClientRequest(), fragmentContext.getDeadline(),
+        fragmentContext.getRequestScope());
+  }
+
   private Function<FragmentContext, Single<FragmentResult>> toRxFunction(
       Action action) {
     io.knotx.fragments.handler.reactivex.api.Action rxAction = io.knotx.fragments.handler.reactivex.api.Action
@@ -89,4 +145,36 @@ public class ActionNodeFactory implements NodeFactory {
       return factories.iterator();
     };
   }
+
+  private static class InvocationResult {
+
+    private final Map<String, Object> payloadChanges = new LinkedHashMap<>();
+    private final String transition;
+    private final JsonObject nodeLog;
+
+    InvocationResult(Fragment origin, FragmentResult result) {
+      Map<String, Object> originPayload = origin.getPayloadView().getMap();
+      result.getFragment().getPayloadView().getMap().forEach((key, value) -> {
+        if (originPayload.get(key) != value) {
+          payloadChanges.put(key, value);
+        }
+      });
+      this.transition = result.getTransition();
+      this.nodeLog = result.getNodeLog();
+    }
+
+    FragmentResult applyTo(Fragment fragment) {
+      payloadChanges.forEach((key, value) -> fragment.appendPayload(key, copy(value)));
+      return new FragmentResult(fragment, transition, nodeLog == null ? null : nodeLog.copy());
+    }
+
+    private static Object copy(Object value) {
+      if (value instanceof JsonObject) {
+        return ((JsonObject) value).copy();
+      } else if (value instanceof JsonArray) {
+        return ((JsonArray) value).copy();
+      }
+      return value;
+    }
+  }
 }
@@ -19,6 +19,7 @@ import io.knotx.fragments.task.factory.ActionFactoryOptions;
 import io.knotx.fragments.handler.api.Action;
 import io.knotx.fragments.handler.api.ActionFactory;
 import io.knotx.fragments.handler.api.Cacheable;
+import io.knotx.fragments.handler.api.NonBlocking;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 import io.vertx.reactivex.core.Vertx;
@@ -71,6 +72,62 @@ public class ActionProvider {
     }
   }
 
+  /**
+   * Checks if the action instance is reused (its factory is marked with {@link Cacheable}).
+   *
+   * @param action action alias
+   * @return <code>true</code> when {@link #get(String)} always returns the same action instance
+   */
+  public boolean isCacheable(String action) {
+    if (StringUtils.isBlank(action)) {
+      return false;
+    }
+    return Optional.ofNullable(actionNameToOptions.get(action))
+        .map(options -> factories.get(options.getFactory()))
+        .map(this::isCacheable)
+        .orElse(false);
+  }
+
+  /**
+   * Checks if the action can be executed on the event loop. It is true when the action factory and
+   * factories of all wrapped actions (see {@link ActionFactoryOptions#getDoAction()}) are marked
+   * with {@link NonBlocking}.
+   *
+   * @param action action alias
+   * @return <code>true</code> when the action never blocks the calling thread
+   */
+  public boolean isNonBlocking(String action) {
+    if (StringUtils.isBlank(action)) {
+      return false;
+    }
+    ActionFactoryOptions actionFactoryOptions = actionNameToOptions.get(action);
+    if (actionFactoryOptions == null) {
+      return false;
+    }
+    ActionFactory factory = factories.get(actionFactoryOptions.getFactory());
+    if (factory == null || !isNonBlocking(factory)) {
+      return false;
+    }
+    String doAction = actionFactoryOptions.getDoAction();
+    return StringUtils.isBlank(doAction) || isNonBlocking(doAction);
+  }
+
+  /**
+   * Gets the name of the worker pool configured for the action (see {@link
+   * ActionFactoryOptions#getWorkerPool()}).
+   *
+   * @param action action alias
+   * @return worker pool name or empty if not configured
+   */
+  public Optional<String> getWorkerPool(String action) {
+    if (StringUtils.isBlank(action)) {
+      return Optional.empty();
+    }
+    return Optional.ofNullable(actionNameToOptions.get(action))
+        .map(ActionFactoryOptions::getWorkerPool)
+        .filter(StringUtils::isNotBlank);
+  }
+
   private Function<String, Action> toAction(ActionFactoryOptions actionFactoryOptions,
       ActionFactory factory) {
     return action -> createAction(action, actionFactoryOptions, factory);
@@ -90,6 +147,10 @@ public class ActionProvider {
     return factory.getClass().isAnnotationPresent(Cacheable.class);
   }
 
+  private boolean isNonBlocking(ActionFactory factory) {
+    return factory.getClass().isAnnotationPresent(NonBlocking.class);
+  }
+
   private Map<String, ActionFactory> loadFactories(
       Supplier<Iterator<ActionFactory>> factoriesSupplier) {
     Map<String, ActionFactory> result = new HashMap<>();
@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2019 Knot.x Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.fragments.task.factory.node.hedged;
+
+import io.knotx.fragments.engine.graph.Node;
+import io.knotx.fragments.engine.graph.SingleNode;
+import io.knotx.fragments.handler.api.domain.FragmentContext;
+import io.knotx.fragments.handler.api.domain.FragmentResult;
+import io.knotx.fragments.handler.api.domain.RequestScope;
+import io.reactivex.Scheduler;
+import io.reactivex.Single;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Executes the operation and, when no result arrives within the configured percentile of recent
+ * latencies, starts the second identical invocation. The first result wins, the other invocation
+ * is disposed. Each invocation works on its own fragment fork, so the loser can not
+ * modify the processed fragment.
+ */
+class HedgedNode implements SingleNode {
+
+  private final String id;
+  private final Map<String, Node> edges;
+  private final Function<FragmentContext, Single<FragmentResult>> operation;
+  private final LatencyPercentile latency;
+  private final Scheduler timerScheduler;
+  private final Scheduler hedgeScheduler;
+  private final boolean nonBlocking;
+  private final Optional<String> workerPool;
+
+  HedgedNode(String id, Map<String, Node> edges,
+      Function<FragmentContext, Single<FragmentResult>> operation, LatencyPercentile latency,
+      Scheduler timerScheduler, Scheduler hedgeScheduler, boolean nonBlocking,
+      Optional<String> workerPool) {
+    this.id = id;
+    this.edges = edges;
+    this.operation = operation;
+    this.latency = latency;
+    this.timerScheduler = timerScheduler;
+    this.hedgeScheduler = hedgeScheduler;
+    this.nonBlocking = nonBlocking;
+    this.workerPool = workerPool;
+  }
+
+  @Override
+  public String getId() {
+    return id;
+  }
+
+  @Override
+  public Optional<Node> next(String transition) {
+    return Optional.ofNullable(edges.get(transition));
+  }
+
+  /**
+   * Only the primary invocation latency is recorded, also when it fails. When it loses, the time
+   * elapsed until it is disposed is recorded as its latency, which is at least that long. Recording
+   * the winner latency instead (the hedge delay plus the hedged invocation latency) would bias the
+   * percentile towards the fastest wins, shrinking the delay.
+   */
+  @Override
+  public Single<FragmentResult> execute(FragmentContext fragmentContext) {
+    return Single.defer(() -> {
+      long start = System.currentTimeMillis();
+      AtomicBoolean recorded = new AtomicBoolean();
+      Runnable recordLatency = () -> {
+        if (recorded.compareAndSet(false, true)) {
+          latency.record(System.currentTimeMillis() - start);
+        }
+      };
+      Single<FragmentResult> primary = invoke(fragmentContext, fragmentContext.getRequestScope())
+          .doOnEvent((result, error) -> recordLatency.run())
+          .doOnDispose(recordLatency::run);
+      Single<FragmentResult> hedged = Single.timer(latency.get(), TimeUnit.MILLISECONDS,
+          timerScheduler)
+          .observeOn(hedgeScheduler)
+          // the hedged invocation must not join the primary one deduplicated within the request
+          .flatMap(tick -> invoke(fragmentContext, new RequestScope()));
+      return Single.ambArray(primary, hedged);
+    });
+  }
+
+  @Override
+  public boolean isNonBlocking() {
+    return nonBlocking;
+  }
+
+  @Override
+  public Optional<String> getWorkerPool() {
+    return workerPool;
+  }
+
+  private Single<FragmentResult> invoke(FragmentContext fragmentContext,
+      RequestScope requestScope) {
+    return Single.defer(() -> operation.apply(
+        new FragmentContext(fragmentContext.getFragment().fork(),
+            fragmentContext.getClientRequest(), fragmentContext.getDeadline(), requestScope)));
+  }
+}
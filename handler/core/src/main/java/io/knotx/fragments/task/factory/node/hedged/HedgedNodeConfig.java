@@ -0,0 +1,159 @@
+/*
+ * Copyright (C) 2019 Knot.x Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.fragments.task.factory.node.hedged;
+
+import io.knotx.fragments.task.factory.node.NodeOptions;
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.json.JsonObject;
+import java.util.Objects;
+
+/**
+ * Hedged node configuration model. It is model for {@link NodeOptions#getConfig()} JSON object.
+ *
+ * <pre>
+ * node {
+ *   factory = hedged
+ *   config { //represented by HedgedNodeConfig
+ *     ...
+ *   }
+ * }
+ * </pre>
+ */
+@DataObject(generateConverter = true)
+public class HedgedNodeConfig {
+
+  public static final double DEFAULT_PERCENTILE = 95.0;
+  public static final long DEFAULT_HEDGE_DELAY_MS = 100L;
+  public static final int DEFAULT_LATENCY_SAMPLES = 100;
+
+  private String action;
+  private double percentile = DEFAULT_PERCENTILE;
+  private long hedgeDelayMs = DEFAULT_HEDGE_DELAY_MS;
+  private int latencySamples = DEFAULT_LATENCY_SAMPLES;
+
+  public HedgedNodeConfig(String action) {
+    setAction(action);
+  }
+
+  public HedgedNodeConfig(JsonObject json) {
+    HedgedNodeConfigConverter.fromJson(json, this);
+  }
+
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    HedgedNodeConfigConverter.toJson(this, json);
+    return json;
+  }
+
+  /**
+   * {@link io.knotx.fragments.handler.api.Action} name
+   *
+   * @return Action name
+   */
+  public String getAction() {
+    return action;
+  }
+
+  /**
+   * Sets {@link io.knotx.fragments.handler.api.Action} name. The specified Action is executed
+   * (and hedged when it is slow) during processing of given graph node.
+   *
+   * @param action action name
+   * @return reference to this, so the API can be used fluently
+   */
+  public HedgedNodeConfig setAction(String action) {
+    this.action = action;
+    return this;
+  }
+
+  public double getPercentile() {
+    return percentile;
+  }
+
+  /**
+   * Sets the percentile of recent action latencies after which the second (hedged) invocation is
+   * started. The default value is 95.
+   *
+   * @param percentile percentile in the (0, 100] range
+   * @return reference to this, so the API can be used fluently
+   */
+  public HedgedNodeConfig setPercentile(double percentile) {
+    this.percentile = percentile;
+    return this;
+  }
+
+  public long getHedgeDelayMs() {
+    return hedgeDelayMs;
+  }
+
+  /**
+   * Sets the delay in milliseconds after which the hedged invocation is started until enough
+   * latency samples are collected. The default value is 100.
+   *
+   * @param hedgeDelayMs delay in milliseconds
+   * @return reference to this, so the API can be used fluently
+   */
+  public HedgedNodeConfig setHedgeDelayMs(long hedgeDelayMs) {
+    this.hedgeDelayMs = hedgeDelayMs;
+    return this;
+  }
+
+  public int getLatencySamples() {
+    return latencySamples;
+  }
+
+  /**
+   * Sets the number of the most recent action latencies the percentile is calculated from. The
+   * default value is 100.
+   *
+   * @param latencySamples number of samples
+   * @return reference to this, so the API can be used fluently
+   */
+  public HedgedNodeConfig setLatencySamples(int latencySamples) {
+    this.latencySamples = latencySamples;
+    return this;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    HedgedNodeConfig that = (HedgedNodeConfig) o;
+    return Double.compare(that.percentile, percentile) == 0 &&
+        hedgeDelayMs == that.hedgeDelayMs &&
+        latencySamples == that.latencySamples &&
+        Objects.equals(action, that.action);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(action, percentile, hedgeDelayMs, latencySamples);
+  }
+
+  @Override
+  public String toString() {
+    return "HedgedNodeConfig{" +
+        "action='" + action + '\'' +
+        ", percentile=" + percentile +
+        ", hedgeDelayMs=" + hedgeDelayMs +
+        ", latencySamples=" + latencySamples +
+        '}';
+  }
+}
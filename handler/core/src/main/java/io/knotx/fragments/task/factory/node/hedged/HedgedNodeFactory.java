@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2019 Knot.x Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.fragments.task.factory.node.hedged;
+
+import io.knotx.fragments.engine.graph.Node;
+import io.knotx.fragments.engine.graph.SingleNode;
+import io.knotx.fragments.handler.WorkerPools;
+import io.knotx.fragments.task.factory.GraphNodeOptions;
+import io.knotx.fragments.task.factory.NodeProvider;
+import io.knotx.fragments.task.factory.node.NodeFactory;
+import io.knotx.fragments.task.factory.node.action.ActionNodeFactory;
+import io.knotx.fragments.task.factory.node.action.ActionNodeFactoryConfig;
+import io.reactivex.Scheduler;
+import io.vertx.core.json.JsonObject;
+import io.vertx.reactivex.ContextScheduler;
+import io.vertx.reactivex.core.RxHelper;
+import io.vertx.reactivex.core.Vertx;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Creates hedged action nodes. It is configured in the same way as the action node factory (see
+ * {@link ActionNodeFactoryConfig}), actions are executed by action nodes created with {@link
+ * ActionNodeFactory}.
+ */
+public class HedgedNodeFactory implements NodeFactory {
+
+  public static final String NAME = "hedged";
+  private ActionNodeFactory actionNodeFactory;
+  private Vertx vertx;
+  private Scheduler timerScheduler;
+  private Scheduler blockingScheduler;
+  private final Map<String, Optional<Scheduler>> workerPoolSchedulers = new HashMap<>();
+
+  @Override
+  public String getName() {
+    return NAME;
+  }
+
+  @Override
+  public HedgedNodeFactory configure(JsonObject config, Vertx vertx) {
+    this.actionNodeFactory = new ActionNodeFactory().configure(config, vertx);
+    this.vertx = vertx;
+    this.timerScheduler = RxHelper.scheduler(vertx);
+    this.blockingScheduler = RxHelper.blockingScheduler(vertx, false);
+    return this;
+  }
+
+  @Override
+  public Node initNode(GraphNodeOptions nodeOptions, Map<String, Node> edges,
+      NodeProvider nodeProvider) {
+    HedgedNodeConfig config = new HedgedNodeConfig(nodeOptions.getNode().getConfig());
+    SingleNode actionNode = (SingleNode) actionNodeFactory.initNode(
+        new GraphNodeOptions(config.getAction(), Collections.emptyMap()), edges, nodeProvider);
+    LatencyPercentile latency = new LatencyPercentile(config.getPercentile(),
+        config.getHedgeDelayMs(), config.getLatencySamples());
+    return new HedgedNode(actionNode.getId(), edges, actionNode::execute, latency,
+        timerScheduler, hedgeScheduler(actionNode), actionNode.isNonBlocking(),
+        actionNode.getWorkerPool());
+  }
+
+  /**
+   * The hedged invocation is started from the event loop timer. Blocking actions are moved to the
+   * worker pool the engine executes the node with, so the pool isolation is kept.
+   */
+  private Scheduler hedgeScheduler(SingleNode actionNode) {
+    if (actionNode.isNonBlocking()) {
+      return timerScheduler;
+    }
+    return actionNode.getWorkerPool()
+        .flatMap(this::workerPoolScheduler)
+        .orElse(blockingScheduler);
+  }
+
+  private Optional<Scheduler> workerPoolScheduler(String name) {
+    return workerPoolSchedulers.computeIfAbsent(name, poolName -> WorkerPools
+        .create(vertx, poolName)
+        .map(executor -> new ContextScheduler(executor.getDelegate(), false)));
+  }
+}
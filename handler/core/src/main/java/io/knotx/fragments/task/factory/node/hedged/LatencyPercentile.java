@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2019 Knot.x Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.fragments.task.factory.node.hedged;
+
+import java.util.Arrays;
+
+/**
+ * Calculates the percentile of the most recent latencies. Until the window of samples is filled,
+ * the initial value is returned. The percentile is read on every execution, so it is not
+ * calculated on read: it is recalculated once per every tenth part of the window recorded, and the
+ * last calculated value is returned.
+ */
+class LatencyPercentile {
+
+  private static final int RECALCULATIONS_PER_WINDOW = 10;
+
+  private final double percentile;
+  private final long[] samples;
+  private final long[] sorted;
+  private final int recalculationInterval;
+
+  private int next;
+  private int count;
+  private int recordedSinceRecalculation;
+  private volatile long value;
+
+  LatencyPercentile(double percentile, long initialValue, int samples) {
+    this.percentile = percentile;
+    this.value = initialValue;
+    this.samples = new long[Math.max(samples, 1)];
+    this.sorted = new long[this.samples.length];
+    this.recalculationInterval = Math.max(this.samples.length / RECALCULATIONS_PER_WINDOW, 1);
+  }
+
+  synchronized void record(long latencyMs) {
+    samples[next] = latencyMs;
+    next = (next + 1) % samples.length;
+    recordedSinceRecalculation++;
+    if (count < samples.length) {
+      count++;
+      if (count == samples.length) {
+        recalculate();
+      }
+    } else if (recordedSinceRecalculation >= recalculationInterval) {
+      recalculate();
+    }
+  }
+
+  long get() {
+    return value;
+  }
+
+  private void recalculate() {
+    System.arraycopy(samples, 0, sorted, 0, count);
+    Arrays.sort(sorted, 0, count);
+    int index = (int) Math.ceil(percentile / 100 * count) - 1;
+    value = sorted[Math.min(Math.max(index, 0), count - 1)];
+    recordedSinceRecalculation = 0;
+  }
+}
@@ -25,6 +25,7 @@ import io.knotx.fragments.task.factory.node.NodeFactory;
 import io.knotx.fragments.task.factory.GraphNodeOptions;
 import io.vertx.core.json.JsonObject;
 import io.vertx.reactivex.core.Vertx;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -53,7 +54,8 @@ public class SubtasksNodeFactory implements NodeFactory {
     SubtasksNodeConfig config = new SubtasksNodeConfig(nodeOptions.getNode().getConfig());
     List<Node> nodes = config.getSubtasks().stream()
         .map(nodeProvider::initNode)
-        .collect(Collectors.toList());
+        .collect(Collectors.collectingAndThen(Collectors.toList(),
+            Collections::unmodifiableList));
     return new CompositeNode() {
       @Override
       public String getId() {
@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2019 Knot.x Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.fragments.handler;
+
+import static io.vertx.core.Future.succeededFuture;
+
+import io.knotx.fragments.api.Fragment;
+import io.knotx.fragments.handler.api.Action;
+import io.knotx.fragments.handler.api.ActionFactory;
+import io.knotx.fragments.handler.api.Cacheable;
+import io.knotx.fragments.handler.api.Deduplicable;
+import io.knotx.fragments.handler.api.domain.FragmentContext;
+import io.knotx.fragments.handler.api.domain.FragmentResult;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Appends the invocation number to the payload. Invocations are deduplicated by the fragment
+ * configuration {@code key} entry.
+ */
+@Cacheable
+public class DeduplicableTestAction implements ActionFactory {
+
+  public static final AtomicInteger INVOCATIONS = new AtomicInteger();
+
+  @Override
+  public String getName() {
+    return "deduplicable-test-action";
+  }
+
+  @Override
+  public Action create(String alias, JsonObject config, Vertx vertx, Action doAction) {
+    return new DeduplicableAction(alias);
+  }
+
+  private static class DeduplicableAction implements Action, Deduplicable {
+
+    private final String alias;
+
+    DeduplicableAction(String alias) {
+      this.alias = alias;
+    }
+
+    @Override
+    public void apply(FragmentContext fragmentContext,
+        Handler<AsyncResult<FragmentResult>> resultHandler) {
+      Fragment fragment = fragmentContext.getFragment();
+      fragment.appendPayload(alias, new JsonObject().put("invocation", INVOCATIONS.incrementAndGet()));
+
+      Future<FragmentResult> resultFuture = succeededFuture(
+          new FragmentResult(fragment, FragmentResult.SUCCESS_TRANSITION));
+      resultFuture.setHandler(resultHandler);
+    }
+
+    @Override
+    public Optional<String> getDeduplicationKey(FragmentContext fragmentContext) {
+      return Optional.ofNullable(fragmentContext.getFragment().getConfigurationValue("key"))
+          .map(Object::toString);
+    }
+  }
+}
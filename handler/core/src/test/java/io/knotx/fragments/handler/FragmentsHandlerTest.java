@@ -17,6 +17,7 @@ package io.knotx.fragments.handler;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
@@ -56,6 +57,15 @@ class FragmentsHandlerTest {
   private static final String CUSTOM_TASK_NAME_KEY = "task";
   private static final String EMPTY_BODY = "";
 
+  @Test
+  @DisplayName("Expect configuration exception when fragments in flight limit is not positive.")
+  void expectExceptionWhenInFlightLimitNotPositive() {
+    assertThrows(ConfigurationException.class, () -> new FragmentsHandlerOptions(
+        new JsonObject().put("maxInFlightFragments", 0)));
+    assertThrows(ConfigurationException.class, () -> new FragmentsHandlerOptions(
+        new JsonObject().put("maxInFlightFragmentsPerRequest", -1)));
+  }
+
   @Test
   @DisplayName("Expect continuing processing next handler when no fragment is failed.")
   void shouldSuccess(Vertx vertx, VertxTestContext testContext)
@@ -181,6 +191,40 @@ class FragmentsHandlerTest {
     }, testContext, vertx);
   }
 
+  @Test
+  @DisplayName("Expect static fragments passed through in incoming order with processed fragments.")
+  void staticFragmentsMixedWithProcessedFragments(Vertx vertx, VertxTestContext testContext)
+      throws Throwable {
+    HoconLoader.verify("handler/fragmentWithSuccessTask.conf", config -> {
+      //given
+      FragmentsHandler underTest = new FragmentsHandler(vertx, config);
+      Fragment first = new Fragment("_STATIC", new JsonObject(), "first");
+      Fragment second = new Fragment("type",
+          new JsonObject().put(DefaultTaskFactoryConfig.DEFAULT_TASK_NAME_KEY, "success-task"),
+          EMPTY_BODY);
+      Fragment third = new Fragment("_STATIC", new JsonObject(), "third");
+
+      //when
+      Single<List<FragmentEvent>> rxDoHandle = underTest
+          .doHandle(newArrayList(first, second, third), new ClientRequest());
+
+      rxDoHandle.subscribe(
+          result -> testContext.verify(() -> {
+            // then
+            assertEquals(3, result.size());
+            assertEquals(Status.UNPROCESSED, result.get(0).getStatus());
+            assertEquals("first", result.get(0).getFragment().getBody());
+            assertEquals(Status.SUCCESS, result.get(1).getStatus());
+            assertEquals("success", result.get(1).getFragment().getBody());
+            assertEquals(Status.UNPROCESSED, result.get(2).getStatus());
+            assertEquals("third", result.get(2).getFragment().getBody());
+            testContext.completeNow();
+          }),
+          testContext::failNow
+      );
+    }, testContext, vertx);
+  }
+
   @Test
   @DisplayName("Expect processed fragment when second factory accepts fragment.")
   void twoFactoriesWithTheSameName(Vertx vertx, VertxTestContext testContext)
@@ -29,6 +29,7 @@ import com.google.common.collect.ImmutableMap;
 import io.knotx.fragments.handler.api.Action;
 import io.knotx.fragments.handler.api.ActionFactory;
 import io.knotx.fragments.handler.api.Cacheable;
+import io.knotx.fragments.handler.api.NonBlocking;
 import io.knotx.fragments.handler.api.domain.FragmentContext;
 import io.knotx.fragments.handler.api.domain.FragmentResult;
 import io.knotx.fragments.task.factory.node.action.ActionProvider;
@@ -224,6 +225,66 @@ class ActionProviderTest {
         .create(eq(PROXY_ALIAS), any(), eq(vertx.getDelegate()), eq(expectedOperationSecond));
   }
 
+  @Test
+  @DisplayName("Expect non-blocking action when factory is marked as non-blocking.")
+  void expectNonBlockingAction(Vertx vertx) {
+    // given
+    Map<String, ActionFactoryOptions> proxies = Collections
+        .singletonMap(PROXY_ALIAS, new ActionFactoryOptions(PROXY_FACTORY_NAME));
+    List<ActionFactory> factories = Collections
+        .singletonList(new TestNonBlockingOperationFactory());
+
+    ActionProvider tested = new ActionProvider(factories::iterator, proxies, vertx);
+
+    // when
+    boolean nonBlocking = tested.isNonBlocking(PROXY_ALIAS);
+
+    // then
+    assertTrue(nonBlocking);
+  }
+
+  @Test
+  @DisplayName("Expect blocking action when factory is not marked as non-blocking.")
+  void expectBlockingAction(Vertx vertx) {
+    // given
+    Map<String, ActionFactoryOptions> proxies = Collections
+        .singletonMap(PROXY_ALIAS, new ActionFactoryOptions(PROXY_FACTORY_NAME));
+    List<ActionFactory> factories = Collections.singletonList(new TestOperationFactory());
+
+    ActionProvider tested = new ActionProvider(factories::iterator, proxies, vertx);
+
+    // when
+    boolean nonBlocking = tested.isNonBlocking(PROXY_ALIAS);
+
+    // then
+    assertFalse(nonBlocking);
+  }
+
+  @Test
+  @DisplayName("Expect blocking action when non-blocking action wraps blocking doAction.")
+  void expectBlockingActionWhenDoActionIsBlocking(Vertx vertx) {
+    // given
+    ActionFactory blockingFactory = mock(ActionFactory.class);
+    when(blockingFactory.getName()).thenReturn(PROXY_FACTORY_NAME_SECOND);
+
+    Map<String, ActionFactoryOptions> proxies = ImmutableMap.of(
+        PROXY_ALIAS,
+        new ActionFactoryOptions(PROXY_FACTORY_NAME, new JsonObject(), PROXY_ALIAS_SECOND),
+        PROXY_ALIAS_SECOND,
+        new ActionFactoryOptions(PROXY_FACTORY_NAME_SECOND, new JsonObject())
+    );
+    List<ActionFactory> factories = Arrays
+        .asList(new TestNonBlockingOperationFactory(), blockingFactory);
+
+    ActionProvider tested = new ActionProvider(factories::iterator, proxies, vertx);
+
+    // when
+    boolean nonBlocking = tested.isNonBlocking(PROXY_ALIAS);
+
+    // then
+    assertFalse(nonBlocking);
+  }
+
   static class TestOperationFactory implements ActionFactory {
 
     @Override
@@ -266,4 +327,21 @@ class ActionProviderTest {
       };
     }
   }
-}
\ No newline at end of file
+
+  @NonBlocking
+  static class TestNonBlockingOperationFactory implements ActionFactory {
+
+    @Override
+    public String getName() {
+      return PROXY_FACTORY_NAME;
+    }
+
+    @Override
+    public Action create(String alias, JsonObject config, io.vertx.core.Vertx vertx,
+        Action doAction) {
+      return (fragmentContext, resultHandler) -> {
+        // empty
+      };
+    }
+  }
+}
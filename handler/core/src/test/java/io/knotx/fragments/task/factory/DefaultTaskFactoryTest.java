@@ -18,6 +18,7 @@ package io.knotx.fragments.task.factory;
 import static io.knotx.fragments.handler.api.domain.FragmentResult.SUCCESS_TRANSITION;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import io.knotx.fragments.handler.api.exception.ConfigurationException;
@@ -190,6 +191,24 @@ class DefaultTaskFactoryTest {
     );
   }
 
+  @Test
+  @DisplayName("Expect task graph initialized once and shared between task instances.")
+  void graphSharedBetweenTaskInstances(Vertx vertx) {
+    // given
+    JsonObject actionNodeConfig = createActionNodeConfig("A", SUCCESS_TRANSITION);
+    GraphNodeOptions graph = new GraphNodeOptions("A", NO_TRANSITIONS);
+
+    // when
+    DefaultTaskFactory taskFactory = new DefaultTaskFactory()
+        .configure(createTaskFactoryConfig(graph, actionNodeConfig).toJson(), vertx);
+
+    // then
+    assertSame(
+        taskFactory.newInstance(SAMPLE_FRAGMENT_EVENT).getRootNode().get(),
+        taskFactory.newInstance(SAMPLE_FRAGMENT_EVENT).getRootNode().get()
+    );
+  }
+
   @Test
   @DisplayName("Expect new task instance when custom task name key is defined.")
   void expectGraphWhenCustomTaskKey(Vertx vertx) {
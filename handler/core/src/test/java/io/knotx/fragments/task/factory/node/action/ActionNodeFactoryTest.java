@@ -17,13 +17,21 @@ package io.knotx.fragments.task.factory.node.action;
 
 import static io.knotx.fragments.handler.api.domain.FragmentResult.SUCCESS_TRANSITION;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import io.knotx.fragments.api.Fragment;
 import io.knotx.fragments.engine.graph.Node;
 import io.knotx.fragments.engine.graph.SingleNode;
+import io.knotx.fragments.handler.DeduplicableTestAction;
+import io.knotx.fragments.handler.api.domain.FragmentContext;
+import io.knotx.fragments.handler.api.domain.FragmentResult;
+import io.knotx.fragments.handler.api.domain.RequestScope;
 import io.knotx.fragments.task.factory.ActionFactoryOptions;
 import io.knotx.fragments.task.factory.node.StubNode;
 import io.knotx.fragments.task.factory.GraphNodeOptions;
+import io.knotx.server.api.context.ClientRequest;
 import io.vertx.core.json.JsonObject;
 import io.vertx.junit5.VertxExtension;
 import io.vertx.reactivex.core.Vertx;
@@ -105,6 +113,90 @@ class ActionNodeFactoryTest {
     assertEquals("B", nextNode.get().getId());
   }
 
+  @Test
+  @DisplayName("Expect identical invocations within request executed once and results fanned out.")
+  void expectIdenticalInvocationsExecutedOnce(Vertx vertx) {
+    // given
+    DeduplicableTestAction.INVOCATIONS.set(0);
+    SingleNode node = deduplicableActionNode(vertx);
+    RequestScope requestScope = new RequestScope();
+    Fragment first = new Fragment("snippet", new JsonObject().put("key", "same"), "first");
+    Fragment second = new Fragment("snippet", new JsonObject().put("key", "same"), "second");
+
+    // when
+    FragmentResult firstResult = node
+        .execute(new FragmentContext(first, new ClientRequest(), Long.MAX_VALUE, requestScope))
+        .blockingGet();
+    FragmentResult secondResult = node
+        .execute(new FragmentContext(second, new ClientRequest(), Long.MAX_VALUE, requestScope))
+        .blockingGet();
+
+    // then
+    assertEquals(1, DeduplicableTestAction.INVOCATIONS.get());
+    assertEquals(new JsonObject().put("invocation", 1), first.getPayload().getJsonObject("A"));
+    assertEquals(new JsonObject().put("invocation", 1), second.getPayload().getJsonObject("A"));
+    assertEquals("second", secondResult.getFragment().getBody());
+    assertEquals(SUCCESS_TRANSITION, firstResult.getTransition());
+    assertEquals(SUCCESS_TRANSITION, secondResult.getTransition());
+  }
+
+  @Test
+  @DisplayName("Expect deduplicated invocation payload not shared between fragments.")
+  void expectDeduplicatedPayloadCopiedPerFragment(Vertx vertx) {
+    // given
+    SingleNode node = deduplicableActionNode(vertx);
+    RequestScope requestScope = new RequestScope();
+    Fragment first = new Fragment("snippet", new JsonObject().put("key", "same"), "first");
+    Fragment second = new Fragment("snippet", new JsonObject().put("key", "same"), "second");
+    node.execute(new FragmentContext(first, new ClientRequest(), Long.MAX_VALUE, requestScope))
+        .blockingGet();
+    node.execute(new FragmentContext(second, new ClientRequest(), Long.MAX_VALUE, requestScope))
+        .blockingGet();
+
+    // when
+    // the view does not copy nested values, so it exposes the instances held by fragments
+    first.getPayloadView().getJsonObject("A").put("modified", true);
+
+    // then
+    assertNotSame(first.getPayloadView().getJsonObject("A"),
+        second.getPayloadView().getJsonObject("A"));
+    assertFalse(second.getPayloadView().getJsonObject("A").containsKey("modified"));
+  }
+
+  @Test
+  @DisplayName("Expect invocations with different keys or in different requests executed separately.")
+  void expectDifferentInvocationsExecutedSeparately(Vertx vertx) {
+    // given
+    DeduplicableTestAction.INVOCATIONS.set(0);
+    SingleNode node = deduplicableActionNode(vertx);
+    RequestScope requestScope = new RequestScope();
+
+    // when
+    node.execute(new FragmentContext(
+        new Fragment("snippet", new JsonObject().put("key", "first"), ""),
+        new ClientRequest(), Long.MAX_VALUE, requestScope)).blockingGet();
+    node.execute(new FragmentContext(
+        new Fragment("snippet", new JsonObject().put("key", "second"), ""),
+        new ClientRequest(), Long.MAX_VALUE, requestScope)).blockingGet();
+    node.execute(new FragmentContext(
+        new Fragment("snippet", new JsonObject().put("key", "first"), ""),
+        new ClientRequest(), Long.MAX_VALUE, new RequestScope())).blockingGet();
+
+    // then
+    assertEquals(3, DeduplicableTestAction.INVOCATIONS.get());
+  }
+
+  private SingleNode deduplicableActionNode(Vertx vertx) {
+    JsonObject config = new ActionNodeFactoryConfig(Collections.singletonMap("A",
+        new ActionFactoryOptions(new JsonObject())
+            .setFactory("deduplicable-test-action")
+            .setConfig(new JsonObject())))
+        .toJson();
+    GraphNodeOptions graph = new GraphNodeOptions("A", NO_TRANSITIONS);
+    return (SingleNode) new ActionNodeFactory().configure(config, vertx)
+        .initNode(graph, Collections.emptyMap(), null);
+  }
+
   private JsonObject createNodeConfig(String actionName, String transition) {
     return new ActionNodeFactoryConfig(Collections.singletonMap(actionName,
         new ActionFactoryOptions(new JsonObject())
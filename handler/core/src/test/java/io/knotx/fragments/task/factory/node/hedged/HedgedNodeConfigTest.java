@@ -0,0 +1,58 @@
+/*
+ * Copyright (C) 2019 Knot.x Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.fragments.task.factory.node.hedged;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.vertx.core.json.JsonObject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class HedgedNodeConfigTest {
+
+  @Test
+  @DisplayName("Expect default hedging options when only action configured.")
+  void expectDefaultOptions() {
+    // when
+    HedgedNodeConfig tested = new HedgedNodeConfig(new JsonObject().put("action", "A"));
+
+    // then
+    assertEquals("A", tested.getAction());
+    assertEquals(HedgedNodeConfig.DEFAULT_PERCENTILE, tested.getPercentile());
+    assertEquals(HedgedNodeConfig.DEFAULT_HEDGE_DELAY_MS, tested.getHedgeDelayMs());
+    assertEquals(HedgedNodeConfig.DEFAULT_LATENCY_SAMPLES, tested.getLatencySamples());
+  }
+
+  @Test
+  @DisplayName("Expect configured hedging options.")
+  void expectConfiguredOptions() {
+    // given
+    JsonObject json = new JsonObject()
+        .put("action", "A")
+        .put("percentile", 99.0)
+        .put("hedgeDelayMs", 20L)
+        .put("latencySamples", 500);
+
+    // when
+    HedgedNodeConfig tested = new HedgedNodeConfig(json);
+
+    // then
+    assertEquals(99.0, tested.getPercentile());
+    assertEquals(20L, tested.getHedgeDelayMs());
+    assertEquals(500, tested.getLatencySamples());
+    assertEquals(tested, new HedgedNodeConfig(tested.toJson()));
+  }
+}
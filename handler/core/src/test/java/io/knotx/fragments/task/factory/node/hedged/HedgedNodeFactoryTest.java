@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2019 Knot.x Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.fragments.task.factory.node.hedged;
+
+import static io.knotx.fragments.handler.api.domain.FragmentResult.SUCCESS_TRANSITION;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.knotx.fragments.api.Fragment;
+import io.knotx.fragments.engine.graph.Node;
+import io.knotx.fragments.engine.graph.SingleNode;
+import io.knotx.fragments.handler.api.domain.FragmentContext;
+import io.knotx.fragments.handler.api.domain.FragmentResult;
+import io.knotx.fragments.task.factory.ActionFactoryOptions;
+import io.knotx.fragments.task.factory.GraphNodeOptions;
+import io.knotx.fragments.task.factory.node.NodeOptions;
+import io.knotx.fragments.task.factory.node.StubNode;
+import io.knotx.fragments.task.factory.node.action.ActionNodeFactoryConfig;
+import io.knotx.fragments.task.factory.node.action.ActionNotFoundException;
+import io.knotx.server.api.context.ClientRequest;
+import io.vertx.core.json.JsonObject;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.reactivex.core.Vertx;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith(VertxExtension.class)
+class HedgedNodeFactoryTest {
+
+  private static final Map<String, GraphNodeOptions> NO_TRANSITIONS = Collections.emptyMap();
+  private static final String ACTION_ALIAS = "A";
+
+  @Test
+  @DisplayName("Expect exception when action not found.")
+  void expectExceptionWhenActionNotFound(Vertx vertx) {
+    // given
+    JsonObject config = createFactoryConfig("otherAction", new ActionFactoryOptions(
+        new JsonObject()).setFactory("test-action").setConfig(new JsonObject()));
+
+    // when, then
+    assertThrows(ActionNotFoundException.class, () -> new HedgedNodeFactory()
+        .configure(config, vertx)
+        .initNode(hedgedNodeOptions(ACTION_ALIAS), Collections.emptyMap(), null));
+  }
+
+  @Test
+  @DisplayName("Expect hedged node with action alias as id and passed transitions.")
+  void expectHedgedNodeWithTransitions(Vertx vertx) {
+    // given
+    JsonObject config = createFactoryConfig(ACTION_ALIAS, testAction());
+
+    // when
+    Node node = new HedgedNodeFactory().configure(config, vertx)
+        .initNode(hedgedNodeOptions(ACTION_ALIAS),
+            Collections.singletonMap("next", new StubNode("B")), null);
+
+    // then
+    assertEquals(ACTION_ALIAS, node.getId());
+    assertTrue(node instanceof HedgedNode);
+    Optional<Node> nextNode = node.next("next");
+    assertTrue(nextNode.isPresent());
+    assertEquals("B", nextNode.get().getId());
+  }
+
+  @Test
+  @DisplayName("Expect blocking hedged node executed in the action worker pool.")
+  void expectActionWorkerPool(Vertx vertx) {
+    // given
+    JsonObject config = createFactoryConfig(ACTION_ALIAS,
+        testAction().setWorkerPool("slow-pool"));
+
+    // when
+    SingleNode node = (SingleNode) new HedgedNodeFactory().configure(config, vertx)
+        .initNode(hedgedNodeOptions(ACTION_ALIAS), Collections.emptyMap(), null);
+
+    // then
+    assertFalse(node.isNonBlocking());
+    assertEquals(Optional.of("slow-pool"), node.getWorkerPool());
+  }
+
+  @Test
+  @DisplayName("Expect hedged node executes action.")
+  void expectActionExecuted(Vertx vertx) {
+    // given
+    JsonObject config = createFactoryConfig(ACTION_ALIAS, testAction());
+    SingleNode node = (SingleNode) new HedgedNodeFactory().configure(config, vertx)
+        .initNode(hedgedNodeOptions(ACTION_ALIAS), Collections.emptyMap(), null);
+    Fragment fragment = new Fragment("snippet", new JsonObject(), "initial body");
+
+    // when
+    FragmentResult result = node.execute(new FragmentContext(fragment, new ClientRequest()))
+        .blockingGet();
+
+    // then
+    assertEquals(SUCCESS_TRANSITION, result.getTransition());
+    assertEquals("hedged", result.getFragment().getBody());
+    assertEquals("initial body", fragment.getBody());
+  }
+
+  private GraphNodeOptions hedgedNodeOptions(String action) {
+    return new GraphNodeOptions(
+        new NodeOptions(HedgedNodeFactory.NAME, new HedgedNodeConfig(action).toJson()),
+        NO_TRANSITIONS);
+  }
+
+  private ActionFactoryOptions testAction() {
+    return new ActionFactoryOptions(new JsonObject())
+        .setFactory("test-action")
+        .setConfig(new JsonObject()
+            .put("transition", SUCCESS_TRANSITION)
+            .put("body", "hedged"));
+  }
+
+  private JsonObject createFactoryConfig(String actionName, ActionFactoryOptions actionOptions) {
+    return new ActionNodeFactoryConfig(Collections.singletonMap(actionName, actionOptions))
+        .toJson();
+  }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright (C) 2019 Knot.x Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.fragments.task.factory.node.hedged;
+
+import static io.knotx.fragments.handler.api.domain.FragmentResult.SUCCESS_TRANSITION;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.knotx.fragments.api.Fragment;
+import io.knotx.fragments.handler.api.domain.FragmentContext;
+import io.knotx.fragments.handler.api.domain.FragmentResult;
+import io.knotx.server.api.context.ClientRequest;
+import io.reactivex.Single;
+import io.reactivex.disposables.Disposable;
+import io.vertx.core.json.JsonObject;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import io.vertx.reactivex.core.RxHelper;
+import io.vertx.reactivex.core.Vertx;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith(VertxExtension.class)
+class HedgedNodeTest {
+
+  private static final long HEDGE_DELAY_MS = 50;
+
+  private final FragmentContext fragmentContext = new FragmentContext(
+      new Fragment("snippet", new JsonObject(), "initial body"), new ClientRequest());
+
+  @Test
+  @DisplayName("Expect hedged invocation result when no result within hedge delay.")
+  void expectHedgedResultWhenFirstInvocationSlow(VertxTestContext testContext, Vertx vertx) {
+    // given
+    AtomicInteger invocations = new AtomicInteger();
+    HedgedNode tested = hedgedNode(vertx, fragmentContext -> invocations.incrementAndGet() == 1
+        ? Single.never()
+        : Single.just(withBody(fragmentContext, "hedged")));
+
+    // when
+    tested.execute(fragmentContext).subscribe(
+        result -> testContext.verify(() -> {
+          // then
+          assertEquals("hedged", result.getFragment().getBody());
+          assertEquals(2, invocations.get());
+          testContext.completeNow();
+        }), testContext::failNow);
+  }
+
+  @Test
+  @DisplayName("Expect primary invocation disposed and its elapsed time recorded when hedged invocation wins.")
+  void expectPrimaryDisposedWhenHedgedWins(VertxTestContext testContext, Vertx vertx) {
+    // given
+    long hedgedLatencyMs = HEDGE_DELAY_MS * 3;
+    AtomicInteger invocations = new AtomicInteger();
+    AtomicBoolean primaryDisposed = new AtomicBoolean();
+    LatencyPercentile latency = new LatencyPercentile(95, HEDGE_DELAY_MS, 1);
+    HedgedNode tested = hedgedNode(vertx, latency,
+        fragmentContext -> invocations.incrementAndGet() == 1
+            ? Single.<FragmentResult>never().doOnDispose(() -> primaryDisposed.set(true))
+            : Single.timer(hedgedLatencyMs, TimeUnit.MILLISECONDS, RxHelper.scheduler(vertx))
+                .map(tick -> withBody(fragmentContext, "hedged")));
+
+    // when
+    tested.execute(fragmentContext).subscribe(
+        result -> testContext.verify(() -> {
+          // then
+          assertEquals("hedged", result.getFragment().getBody());
+          assertTrue(primaryDisposed.get());
+          assertTrue(latency.get() >= HEDGE_DELAY_MS + hedgedLatencyMs);
+          testContext.completeNow();
+        }), testContext::failNow);
+  }
+
+  @Test
+  @DisplayName("Expect primary invocation latency recorded when it fails.")
+  void expectPrimaryLatencyRecordedWhenFailed(VertxTestContext testContext, Vertx vertx) {
+    // given
+    long initialDelayMs = HEDGE_DELAY_MS * 10;
+    LatencyPercentile latency = new LatencyPercentile(95, initialDelayMs, 1);
+    HedgedNode tested = hedgedNode(vertx, latency,
+        fragmentContext -> Single.timer(HEDGE_DELAY_MS, TimeUnit.MILLISECONDS,
+            RxHelper.scheduler(vertx))
+            .flatMap(tick -> Single.<FragmentResult>error(new IllegalStateException("failed"))));
+
+    // when
+    tested.execute(fragmentContext).subscribe(
+        result -> testContext.failNow(new IllegalStateException("Unexpected result")),
+        error -> testContext.verify(() -> {
+          // then
+          assertTrue(latency.get() >= HEDGE_DELAY_MS);
+          assertTrue(latency.get() < initialDelayMs);
+          testContext.completeNow();
+        }));
+  }
+
+  @Test
+  @DisplayName("Expect invocations disposed when node execution disposed.")
+  void expectInvocationsDisposedWithExecution(VertxTestContext testContext, Vertx vertx) {
+    // given
+    AtomicInteger disposed = new AtomicInteger();
+    HedgedNode tested = hedgedNode(vertx,
+        fragmentContext -> Single.<FragmentResult>never().doOnDispose(disposed::incrementAndGet));
+
+    // when
+    Disposable execution = tested.execute(fragmentContext).subscribe();
+    vertx.setTimer(HEDGE_DELAY_MS * 2, timerId -> {
+      execution.dispose();
+
+      // then
+      testContext.verify(() -> {
+        assertEquals(2, disposed.get());
+        testContext.completeNow();
+      });
+    });
+  }
+
+  @Test
+  @DisplayName("Expect single invocation when result arrives within hedge delay.")
+  void expectSingleInvocationWhenFirstInvocationFast(VertxTestContext testContext, Vertx vertx) {
+    // given
+    AtomicInteger invocations = new AtomicInteger();
+    HedgedNode tested = hedgedNode(vertx, fragmentContext -> {
+      invocations.incrementAndGet();
+      return Single.just(withBody(fragmentContext, "first"));
+    });
+
+    // when
+    tested.execute(fragmentContext).subscribe(
+        result -> vertx.setTimer(HEDGE_DELAY_MS * 4, timerId -> testContext.verify(() -> {
+          // then
+          assertEquals("first", result.getFragment().getBody());
+          assertEquals(1, invocations.get());
+          testContext.completeNow();
+        })), testContext::failNow);
+  }
+
+  @Test
+  @DisplayName("Expect processed fragment not modified by invocations.")
+  void expectInvocationsWorkOnForks(VertxTestContext testContext, Vertx vertx) {
+    // given
+    HedgedNode tested = hedgedNode(vertx,
+        fragmentContext -> Single.just(withBody(fragmentContext, "updated")));
+
+    // when
+    tested.execute(fragmentContext).subscribe(
+        result -> testContext.verify(() -> {
+          // then
+          assertEquals("updated", result.getFragment().getBody());
+          assertEquals("initial body", fragmentContext.getFragment().getBody());
+          testContext.completeNow();
+        }), testContext::failNow);
+  }
+
+  private HedgedNode hedgedNode(Vertx vertx,
+      Function<FragmentContext, Single<FragmentResult>> operation) {
+    return hedgedNode(vertx, new LatencyPercentile(95, HEDGE_DELAY_MS, 100), operation);
+  }
+
+  private HedgedNode hedgedNode(Vertx vertx, LatencyPercentile latency,
+      Function<FragmentContext, Single<FragmentResult>> operation) {
+    return new HedgedNode("action", Collections.emptyMap(), operation, latency,
+        RxHelper.scheduler(vertx), RxHelper.scheduler(vertx), true, Optional.empty());
+  }
+
+  private FragmentResult withBody(FragmentContext fragmentContext, String body) {
+    return new FragmentResult(fragmentContext.getFragment().setBody(body), SUCCESS_TRANSITION);
+  }
+}
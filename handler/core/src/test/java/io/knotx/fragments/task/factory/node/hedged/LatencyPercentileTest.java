@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2019 Knot.x Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.fragments.task.factory.node.hedged;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class LatencyPercentileTest {
+
+  @Test
+  @DisplayName("Expect initial value until samples window is filled.")
+  void expectInitialValue() {
+    // given
+    LatencyPercentile tested = new LatencyPercentile(95, 100, 10);
+
+    // when
+    for (int i = 0; i < 9; i++) {
+      tested.record(1);
+    }
+
+    // then
+    assertEquals(100, tested.get());
+  }
+
+  @Test
+  @DisplayName("Expect percentile of the most recent samples.")
+  void expectPercentileOfRecentSamples() {
+    // given
+    LatencyPercentile tested = new LatencyPercentile(95, 100, 100);
+
+    // when
+    for (int i = 1; i <= 100; i++) {
+      tested.record(1000);
+    }
+    for (int i = 1; i <= 100; i++) {
+      tested.record(i);
+    }
+
+    // then
+    assertEquals(95, tested.get());
+  }
+
+  @Test
+  @DisplayName("Expect percentile recalculated once per tenth part of the window recorded.")
+  void expectPercentileRecalculatedPeriodically() {
+    // given
+    LatencyPercentile tested = new LatencyPercentile(50, 100, 100);
+    for (int i = 1; i <= 100; i++) {
+      tested.record(10);
+    }
+
+    // when
+    for (int i = 1; i <= 9; i++) {
+      tested.record(1000);
+    }
+    long beforeRecalculation = tested.get();
+    for (int i = 1; i <= 91; i++) {
+      tested.record(1000);
+    }
+
+    // then
+    assertEquals(10, beforeRecalculation);
+    assertEquals(1000, tested.get());
+  }
+}
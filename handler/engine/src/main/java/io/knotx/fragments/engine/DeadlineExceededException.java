@@ -0,0 +1,27 @@
+/*
+ * Copyright (C) 2019 Knot.x Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.fragments.engine;
+
+/**
+ * Signals that the fragment processing deadline passed before the node operation ended.
+ */
+class DeadlineExceededException extends RuntimeException {
+
+  DeadlineExceededException(String nodeId) {
+    // stack trace is not needed, it is a flow control signal
+    super("Deadline exceeded when processing node [" + nodeId + "]", null, false, false);
+  }
+}
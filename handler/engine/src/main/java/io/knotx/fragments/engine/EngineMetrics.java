@@ -0,0 +1,43 @@
+/*
+ * Copyright (C) 2019 Knot.x Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.fragments.engine;
+
+/**
+ * Fragments Engine processing metrics. Values are shared by all requests processed by the engine.
+ */
+public interface EngineMetrics {
+
+  /**
+   * @return number of fragments currently processed by the engine
+   */
+  int getInFlightFragments();
+
+  /**
+   * @return number of fragments waiting for processing because of the engine in-flight limit
+   */
+  int getQueuedFragments();
+
+  /**
+   * @return total number of fragments that had to wait for processing since the engine start
+   */
+  long getTotalQueuedFragments();
+
+  /**
+   * @return total number of node executions cancelled since the engine start, e.g. when a sibling
+   * fragment failed with a fatal error
+   */
+  long getCancelledNodeExecutions();
+}
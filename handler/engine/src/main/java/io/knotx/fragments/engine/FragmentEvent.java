@@ -31,14 +31,15 @@ public class FragmentEvent {
   private static final String FRAGMENT_KEY = "fragment";
   private static final String LOG_KEY = "log";
   private static final String STATUS_KEY = "status";
+  // read-only stand-in for the log that has not been created yet, never modified
+  private static final EventLog EMPTY_LOG = new EventLog();
 
-  private final EventLog log;
+  private EventLog log;
   private Fragment fragment;
   private Status status;
 
   public FragmentEvent(Fragment fragment) {
     this.fragment = fragment;
-    this.log = new EventLog();
     this.status = Status.UNPROCESSED;
   }
 
@@ -51,12 +52,12 @@ public class FragmentEvent {
   public JsonObject toJson() {
     return new JsonObject()
         .put(FRAGMENT_KEY, fragment.toJson())
-        .put(LOG_KEY, log.toJson())
+        .put(LOG_KEY, logOrEmpty().toJson())
         .put(STATUS_KEY, status);
   }
 
   public FragmentEvent log(EventLogEntry logEntry) {
-    log.append(logEntry);
+    getLog().append(logEntry);
     return this;
   }
 
@@ -70,15 +71,23 @@ public class FragmentEvent {
   }
 
   public JsonObject getLogAsJson() {
-    return log.toJson();
+    return logOrEmpty().toJson();
   }
 
   public EventLog getLog() {
+    // most fragments (e.g. static ones) are never logged, so the log is created on demand
+    if (log == null) {
+      log = new EventLog();
+    }
     return log;
   }
 
+  private EventLog logOrEmpty() {
+    return log == null ? EMPTY_LOG : log;
+  }
+
   public void appendLog(EventLog log) {
-    this.log.appendAll(log);
+    getLog().appendAll(log);
   }
 
   public Status getStatus() {
@@ -99,20 +108,20 @@ public class FragmentEvent {
       return false;
     }
     FragmentEvent that = (FragmentEvent) o;
-    return Objects.equals(log, that.log) &&
+    return Objects.equals(logOrEmpty(), that.logOrEmpty()) &&
         Objects.equals(fragment, that.fragment) &&
         status == that.status;
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(log, fragment, status);
+    return Objects.hash(logOrEmpty(), fragment, status);
   }
 
   @Override
   public String toString() {
     return "FragmentEvent{" +
-        "log=" + log +
+        "log=" + logOrEmpty() +
         ", fragment=" + fragment +
         ", status=" + status +
         '}';
@@ -15,8 +15,11 @@
  */
 package io.knotx.fragments.engine;
 
+import io.knotx.fragments.handler.api.domain.FragmentContext;
+import io.knotx.fragments.handler.api.domain.RequestScope;
 import io.knotx.server.api.context.ClientRequest;
 import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.annotations.GenIgnore;
 import io.vertx.core.json.JsonObject;
 import java.util.Objects;
 
@@ -25,24 +28,42 @@ public class FragmentEventContext {
 
   private static final String FRAGMENT_EVENT_KEY = "fragmentEvent";
   private static final String CLIENT_REQUEST_KEY = "clientRequest";
+  private static final String DEADLINE_KEY = "deadline";
 
   private final FragmentEvent fragmentEvent;
   private final ClientRequest clientRequest;
+  private final long deadline;
+  private final RequestScope requestScope;
 
   public FragmentEventContext(FragmentEvent fragmentEvent, ClientRequest clientRequest) {
+    this(fragmentEvent, clientRequest, FragmentContext.NO_DEADLINE);
+  }
+
+  public FragmentEventContext(FragmentEvent fragmentEvent, ClientRequest clientRequest,
+      long deadline) {
+    this(fragmentEvent, clientRequest, deadline, new RequestScope());
+  }
+
+  public FragmentEventContext(FragmentEvent fragmentEvent, ClientRequest clientRequest,
+      long deadline, RequestScope requestScope) {
     this.fragmentEvent = fragmentEvent;
     this.clientRequest = clientRequest;
+    this.deadline = deadline;
+    this.requestScope = requestScope;
   }
 
   public FragmentEventContext(JsonObject json) {
     this.fragmentEvent = new FragmentEvent(json.getJsonObject(FRAGMENT_EVENT_KEY));
     this.clientRequest = new ClientRequest(json.getJsonObject(CLIENT_REQUEST_KEY));
+    this.deadline = json.getLong(DEADLINE_KEY, FragmentContext.NO_DEADLINE);
+    this.requestScope = new RequestScope();
   }
 
   public JsonObject toJson() {
     return new JsonObject()
         .put(FRAGMENT_EVENT_KEY, fragmentEvent.toJson())
-        .put(CLIENT_REQUEST_KEY, clientRequest.toJson());
+        .put(CLIENT_REQUEST_KEY, clientRequest.toJson())
+        .put(DEADLINE_KEY, deadline);
   }
 
   public FragmentEvent getFragmentEvent() {
@@ -53,6 +74,27 @@ public class FragmentEventContext {
     return clientRequest;
   }
 
+  /**
+   * Time (in milliseconds since the epoch) after which fragment processing is timed out, see
+   * {@link FragmentContext#getDeadline()}.
+   *
+   * @return deadline or {@link FragmentContext#NO_DEADLINE}
+   */
+  public long getDeadline() {
+    return deadline;
+  }
+
+  /**
+   * Attributes shared by all fragments of the request, see {@link
+   * FragmentContext#getRequestScope()}.
+   *
+   * @return request scope
+   */
+  @GenIgnore
+  public RequestScope getRequestScope() {
+    return requestScope;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
@@ -62,13 +104,14 @@ public class FragmentEventContext {
       return false;
     }
     FragmentEventContext that = (FragmentEventContext) o;
-    return Objects.equals(fragmentEvent, that.fragmentEvent) &&
+    return deadline == that.deadline &&
+        Objects.equals(fragmentEvent, that.fragmentEvent) &&
         Objects.equals(clientRequest, that.clientRequest);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(fragmentEvent, clientRequest);
+    return Objects.hash(fragmentEvent, clientRequest, deadline);
   }
 
   @Override
@@ -76,6 +119,7 @@ public class FragmentEventContext {
     return "FragmentEventContext{" +
         "fragmentEvent=" + fragmentEvent +
         ", clientRequest=" + clientRequest +
+        ", deadline=" + deadline +
         '}';
   }
 }
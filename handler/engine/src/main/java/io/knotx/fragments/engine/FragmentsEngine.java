@@ -17,13 +17,18 @@ package io.knotx.fragments.engine;
 
 import io.knotx.fragments.engine.FragmentEvent.Status;
 import io.knotx.fragments.engine.graph.Node;
+import io.knotx.fragments.engine.graph.SingleNode;
 import io.reactivex.Flowable;
 import io.reactivex.Single;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 import io.vertx.reactivex.core.Vertx;
-import java.util.ArrayList;
+import io.vertx.reactivex.core.WorkerExecutor;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 /**
@@ -37,57 +42,108 @@ public class FragmentsEngine {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(FragmentsEngine.class);
 
+  /**
+   * Default maximum number of fragments of a single request processed at the same time.
+   */
+  public static final int DEFAULT_MAX_IN_FLIGHT_PER_REQUEST = 128;
+
+  /**
+   * Default maximum number of fragments processed by the engine at the same time (no limit).
+   */
+  public static final int DEFAULT_MAX_IN_FLIGHT = Integer.MAX_VALUE;
+
   private final TaskEngine taskEngine;
+  private final int maxInFlightPerRequest;
+  private final InFlightLimiter inFlightLimiter;
+  private final FragmentsEngineMetrics metrics;
 
   public FragmentsEngine(Vertx vertx) {
-    this.taskEngine = new TaskEngine(vertx.getDelegate());
+    this(vertx, Collections.emptyMap());
+  }
+
+  /**
+   * Creates the engine with named worker pools. Blocking nodes bound to a pool (see {@link
+   * SingleNode#getWorkerPool()}) are executed with the pool, all other blocking nodes use the
+   * default Vert.x worker pool.
+   *
+   * @param vertx vertx instance
+   * @param workerPools worker pools by name
+   */
+  public FragmentsEngine(Vertx vertx, Map<String, WorkerExecutor> workerPools) {
+    this(vertx, workerPools, DEFAULT_MAX_IN_FLIGHT_PER_REQUEST, DEFAULT_MAX_IN_FLIGHT);
   }
 
   /**
-   * Processes fragment events asynchronously.
+   * Creates the engine with named worker pools and concurrency limits. Fragments over the limits
+   * wait until processing of other fragments ends.
+   *
+   * @param vertx vertx instance
+   * @param workerPools worker pools by name
+   * @param maxInFlightPerRequest maximum number of fragments of a single request processed at the
+   * same time
+   * @param maxInFlight maximum number of fragments processed at the same time by the engine, shared
+   * by all requests
+   */
+  public FragmentsEngine(Vertx vertx, Map<String, WorkerExecutor> workerPools,
+      int maxInFlightPerRequest, int maxInFlight) {
+    Map<String, io.vertx.core.WorkerExecutor> executors = new HashMap<>();
+    workerPools.forEach((name, executor) -> executors.put(name, executor.getDelegate()));
+    this.taskEngine = new TaskEngine(vertx.getDelegate(), executors);
+    this.maxInFlightPerRequest = maxInFlightPerRequest;
+    this.inFlightLimiter = new InFlightLimiter(maxInFlight);
+    this.metrics = new FragmentsEngineMetrics(inFlightLimiter);
+  }
+
+  /**
+   * Processes fragment events asynchronously. When any fragment fails with a fatal error, processing
+   * of all other fragments of the request is cancelled immediately.
    *
    * @param fragments list of fragment events with assigned {@code Task}
    * @return asynchronous response containing processed list of fragment events returned in the same
    * order as the original list
    */
   public Single<List<FragmentEvent>> execute(List<FragmentEventContextTaskAware> fragments) {
-
-    return Flowable.just(fragments)
-        .concatMap(Flowable::fromIterable)
-        .map(fragmentCtx -> fragmentCtx
-            .getTask()
-            .getRootNode()
-            .map(rootNode -> startTaskEngine(fragmentCtx, rootNode))
-            .orElseGet(() -> Single.just(fragmentCtx.getFragmentEventContext().getFragmentEvent()))
-        )
-        .flatMap(Single::toFlowable)
-        .reduce(new ArrayList<FragmentEvent>(), (list, item) -> {
-          list.add(item);
-          return list;
-        })
-        .map(list -> incomingOrder(list, fragments))
-        .map(this::traceEngineResults);
+    return Single.defer(() -> {
+      AtomicInteger cancelledNodes = new AtomicInteger();
+      // concatMapEager runs up to maxInFlightPerRequest tasks at once but emits results in the
+      // source order; the first error disposes all other tasks before it is propagated
+      return Flowable.fromIterable(fragments)
+          .concatMapEager(fragmentCtx -> fragmentCtx
+                  .getTask()
+                  .getRootNode()
+                  .map(rootNode -> startTaskEngine(fragmentCtx, rootNode, cancelledNodes))
+                  .orElseGet(
+                      () -> Single.just(fragmentCtx.getFragmentEventContext().getFragmentEvent()))
+                  .toFlowable(),
+              maxInFlightPerRequest, 1
+          )
+          .toList(Math.max(fragments.size(), 1))
+          .doOnError(error -> reportCancelled(error, cancelledNodes.get()))
+          .map(this::traceEngineResults);
+    });
   }
 
-  private Single<FragmentEvent> startTaskEngine(FragmentEventContextTaskAware fragment, Node rootNode) {
-      return taskEngine.start(fragment.getTask().getName(), rootNode, fragment.getFragmentEventContext());
+  /**
+   * Returns the engine metrics such as the number of fragments in progress or waiting for
+   * processing.
+   *
+   * @return engine metrics
+   */
+  public EngineMetrics getMetrics() {
+    return metrics;
   }
 
-  private List<FragmentEvent> incomingOrder(
-      List<FragmentEvent> list, List<FragmentEventContextTaskAware> sourceEvents) {
-
-    return sourceEvents.stream()
-        .map(event -> event.getFragmentEventContext().getFragmentEvent().getFragment().getId())
-        .map(id -> getFragmentFromListById(id, list))
-        .collect(Collectors.toList());
+  private Single<FragmentEvent> startTaskEngine(FragmentEventContextTaskAware fragment,
+      Node rootNode, AtomicInteger cancelledNodes) {
+    return inFlightLimiter.limit(Single.defer(() -> taskEngine
+        .start(fragment.getTask().getName(), rootNode, fragment.getFragmentEventContext(),
+            cancelledNodes)));
   }
 
-  private FragmentEvent getFragmentFromListById(String id, List<FragmentEvent> events) {
-    return events
-            .stream()
-            .filter(event -> id.equals(event.getFragment().getId()))
-            .findFirst()
-            .orElseThrow(() -> new IllegalStateException("Could not find fragment with id: " + id));
+  private void reportCancelled(Throwable error, int cancelledNodes) {
+    metrics.nodeExecutionsCancelled(cancelledNodes);
+    LOGGER.warn("Fragments processing failed [{}], cancelled [{}] node executions.",
+        error.getMessage(), cancelledNodes);
   }
 
   private List<FragmentEvent> traceEngineResults(List<FragmentEvent> results) {
@@ -0,0 +1,52 @@
+/*
+ * Copyright (C) 2019 Knot.x Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.fragments.engine;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+class FragmentsEngineMetrics implements EngineMetrics {
+
+  private final InFlightLimiter inFlightLimiter;
+  private final AtomicLong cancelledNodeExecutions = new AtomicLong();
+
+  FragmentsEngineMetrics(InFlightLimiter inFlightLimiter) {
+    this.inFlightLimiter = inFlightLimiter;
+  }
+
+  void nodeExecutionsCancelled(int count) {
+    cancelledNodeExecutions.addAndGet(count);
+  }
+
+  @Override
+  public int getInFlightFragments() {
+    return inFlightLimiter.getInFlightFragments();
+  }
+
+  @Override
+  public int getQueuedFragments() {
+    return inFlightLimiter.getQueuedFragments();
+  }
+
+  @Override
+  public long getTotalQueuedFragments() {
+    return inFlightLimiter.getTotalQueuedFragments();
+  }
+
+  @Override
+  public long getCancelledNodeExecutions() {
+    return cancelledNodeExecutions.get();
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2019 Knot.x Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.fragments.engine;
+
+import io.reactivex.Single;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limits the number of fragments processed at the same time. Fragments over the limit are queued
+ * and started in the FIFO order when processing of other fragments ends.
+ */
+class InFlightLimiter {
+
+  private final int maxInFlight;
+  // insertion ordered, removing a cancelled (or already started) task does not scan the queue
+  private final Set<Runnable> waiting = new LinkedHashSet<>();
+  private final AtomicInteger drainInProgress = new AtomicInteger();
+
+  private int inFlight;
+  private long totalQueued;
+
+  InFlightLimiter(int maxInFlight) {
+    this.maxInFlight = maxInFlight;
+  }
+
+  <T> Single<T> limit(Single<T> source) {
+    return Single.create(emitter -> {
+      Runnable task = () -> emitter.setDisposable(source
+          .doFinally(this::release)
+          .subscribe(emitter::onSuccess, emitter::onError));
+      if (tryAcquire(task)) {
+        task.run();
+      } else {
+        emitter.setCancellable(() -> cancel(task));
+      }
+    });
+  }
+
+  synchronized int getInFlightFragments() {
+    return inFlight;
+  }
+
+  synchronized int getQueuedFragments() {
+    return waiting.size();
+  }
+
+  synchronized long getTotalQueuedFragments() {
+    return totalQueued;
+  }
+
+  private synchronized boolean tryAcquire(Runnable task) {
+    if (inFlight < maxInFlight) {
+      inFlight++;
+      return true;
+    }
+    waiting.add(task);
+    totalQueued++;
+    return false;
+  }
+
+  private synchronized void cancel(Runnable task) {
+    waiting.remove(task);
+  }
+
+  private void release() {
+    synchronized (this) {
+      inFlight--;
+    }
+    drain();
+  }
+
+  // queued fragments can end synchronously, the loop keeps the stack depth constant
+  private void drain() {
+    if (drainInProgress.getAndIncrement() != 0) {
+      return;
+    }
+    int missed = 1;
+    do {
+      Runnable next;
+      while ((next = pollNext()) != null) {
+        next.run();
+      }
+      missed = drainInProgress.addAndGet(-missed);
+    } while (missed != 0);
+  }
+
+  private synchronized Runnable pollNext() {
+    if (inFlight < maxInFlight && !waiting.isEmpty()) {
+      inFlight++;
+      Iterator<Runnable> iterator = waiting.iterator();
+      Runnable next = iterator.next();
+      iterator.remove();
+      return next;
+    }
+    return null;
+  }
+}
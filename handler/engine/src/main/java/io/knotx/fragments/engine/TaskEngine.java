@@ -21,38 +21,79 @@ import io.knotx.fragments.engine.graph.CompositeNode;
 import io.knotx.fragments.engine.graph.Node;
 import io.knotx.fragments.handler.api.domain.FragmentResult;
 import io.reactivex.Observable;
+import io.reactivex.Scheduler;
 import io.reactivex.Single;
+import io.vertx.core.Context;
 import io.vertx.core.Vertx;
+import io.vertx.core.WorkerExecutor;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
+import io.vertx.reactivex.ContextScheduler;
 import io.vertx.reactivex.RxHelper;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 class TaskEngine {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(TaskEngine.class);
 
-  private final Vertx vertx;
+  private final Scheduler defaultScheduler;
+  private final Map<String, Scheduler> workerPoolSchedulers;
+  private final Scheduler timerScheduler;
 
   TaskEngine(Vertx vertx) {
-    this.vertx = vertx;
+    this(vertx, Collections.emptyMap());
+  }
+
+  TaskEngine(Vertx vertx, Map<String, WorkerExecutor> workerPools) {
+    // unordered execution, otherwise blocking nodes called from one context are serialized
+    this.defaultScheduler = RxHelper.blockingScheduler(vertx, false);
+    this.timerScheduler = RxHelper.scheduler(vertx);
+    this.workerPoolSchedulers = new HashMap<>();
+    workerPools.forEach((name, executor) -> workerPoolSchedulers
+        .put(name, new ContextScheduler(executor, false)));
   }
 
   Single<FragmentEvent> start(String taskName, Node rootNode, FragmentEventContext fec) {
-    TaskExecutionContext executionContext = new TaskExecutionContext(taskName, rootNode, fec);
+    return start(taskName, rootNode, fec, new AtomicInteger());
+  }
+
+  /**
+   * Starts the task. Every node execution disposed before it ends (e.g. when a sibling fragment
+   * fails with a fatal error) increments the {@code cancelledNodes} counter.
+   */
+  Single<FragmentEvent> start(String taskName, Node rootNode, FragmentEventContext fec,
+      AtomicInteger cancelledNodes) {
+    TaskExecutionContext executionContext = new TaskExecutionContext(taskName, rootNode, fec,
+        cancelledNodes);
 
     return processTask(executionContext)
         .map(ctx -> ctx.getFragmentEventContext().getFragmentEvent());
   }
 
+  /**
+   * Executes nodes one by one until the graph end. Instead of nesting a new chain for every
+   * transition, the single step is re-subscribed in a loop (repeatUntil is trampolined), so the
+   * stack depth and number of operators do not depend on the graph path length.
+   */
   private Single<TaskExecutionContext> processTask(TaskExecutionContext context) {
-    traceEvent(context);
+    if (!context.hasNext()) {
+      return Single.just(context);
+    }
+    return Single.defer(() -> processStep(context))
+        .repeatUntil(() -> !context.hasNext())
+        .ignoreElements()
+        .toSingleDefault(context);
+  }
 
-    return context.hasNext()
-            ? getResult(context).flatMap(fragmentResult -> {
-                context.updateResult(fragmentResult);
-                return processTask(context);
-            })
-            : Single.just(context);
+  private Single<FragmentResult> processStep(TaskExecutionContext context) {
+    traceEvent(context);
+    return getResult(context)
+        .doOnSuccess(context::updateResult);
   }
 
   private Single<TaskExecutionContext> processTask(TaskExecutionContext context, Node currentNode) {
@@ -66,19 +107,77 @@ class TaskEngine {
   }
 
   private Single<FragmentResult> execute(TaskExecutionContext context) {
-    return Single.just(context.getCurrentNode())
-        .map(SingleNode.class::cast)
-        .observeOn(RxHelper.blockingScheduler(vertx))
-        .flatMap(gn -> gn.execute(context.fragmentContextInstance()))
+    SingleNode node = (SingleNode) context.getCurrentNode();
+    AtomicBoolean ended = new AtomicBoolean();
+    return withDeadline(node, context)
         .doOnSuccess(context::handleSuccess)
-        .onErrorResumeNext(context::handleError);
+        .onErrorResumeNext(context::handleError)
+        .doOnEvent((result, error) -> ended.set(true))
+        .doOnDispose(() -> {
+          if (!ended.get()) {
+            context.handleCancellation();
+          }
+        });
+  }
+
+  /**
+   * Executes the node operation within the time left to the deadline. When the deadline passes,
+   * the operation subscription is disposed (or the operation is not started at all).
+   */
+  private Single<FragmentResult> withDeadline(SingleNode node, TaskExecutionContext context) {
+    long remainingTimeMs = context.remainingTimeMs();
+    if (remainingTimeMs == 0) {
+      return Single.error(new DeadlineExceededException(node.getId()));
+    }
+    Single<FragmentResult> result = dispatch(node,
+        Single.defer(() -> node.execute(context.fragmentContextInstance())));
+    return remainingTimeMs == Long.MAX_VALUE
+        ? result
+        : result.timeout(remainingTimeMs, TimeUnit.MILLISECONDS, timerScheduler,
+            Single.error(() -> new DeadlineExceededException(node.getId())));
+  }
+
+  /**
+   * Blocking nodes are executed on a worker thread. Their result is then passed back to the calling
+   * event loop, so the following (non-blocking) nodes and the graph traversal do not stay on the
+   * worker thread.
+   */
+  private Single<FragmentResult> dispatch(SingleNode node, Single<FragmentResult> execution) {
+    if (node.isNonBlocking()) {
+      return execution;
+    }
+    return Single.defer(() -> {
+      Single<FragmentResult> blocking = Single.just(node)
+          .observeOn(getScheduler(node))
+          .flatMap(dispatched -> execution);
+      Context caller = Vertx.currentContext();
+      return caller != null && caller.isEventLoopContext()
+          ? blocking.observeOn(RxHelper.scheduler(caller))
+          : blocking;
+    });
+  }
+
+  private Scheduler getScheduler(SingleNode node) {
+    return node.getWorkerPool()
+        .map(name -> {
+          Scheduler scheduler = workerPoolSchedulers.get(name);
+          if (scheduler == null) {
+            LOGGER.warn("Worker pool [{}] not configured for node [{}], using the default one.",
+                name, node.getId());
+            return defaultScheduler;
+          }
+          return scheduler;
+        })
+        .orElse(defaultScheduler);
   }
 
   private Single<FragmentResult> mapReduce(TaskExecutionContext context) {
     CompositeNode node = (CompositeNode) context.getCurrentNode();
+    // subtasks are processed in parallel, results are merged in the order of subtasks
     return Observable.fromIterable(node.getNodes())
-        .flatMap(graphNode -> processTask(context, graphNode).toObservable())
-        .reduce(context, TaskExecutionContext::merge)
+        .concatMapEager(graphNode -> processTask(context, graphNode).toObservable())
+        .toList()
+        .map(context::merge)
         .map(TaskExecutionContext::toFragmentResult);
   }
 
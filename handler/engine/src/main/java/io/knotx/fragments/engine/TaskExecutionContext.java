@@ -17,6 +17,7 @@ package io.knotx.fragments.engine;
 
 import static io.knotx.fragments.handler.api.domain.FragmentResult.ERROR_TRANSITION;
 import static io.knotx.fragments.handler.api.domain.FragmentResult.SUCCESS_TRANSITION;
+import static io.knotx.fragments.handler.api.domain.FragmentResult.TIMEOUT_TRANSITION;
 
 import io.knotx.fragments.api.Fragment;
 import io.knotx.fragments.engine.FragmentEvent.Status;
@@ -32,6 +33,9 @@ import io.vertx.core.eventbus.ReplyFailure;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 class TaskExecutionContext {
 
@@ -39,23 +43,40 @@ class TaskExecutionContext {
 
   private final String taskName;
   private final FragmentEventContext fragmentEventContext;
+  // shared by all fragments of the request, counts node executions disposed before they ended
+  private final AtomicInteger cancelledNodes;
   private Node currentNode;
+  // once the deadline passed, the rest of the graph (fallback nodes) is processed without deadline
+  private boolean deadlineExceeded;
+  // the deadline passed in a subtask of the current composite node
+  private boolean subtaskDeadlineExceeded;
 
   TaskExecutionContext(String taskName, Node graphRoot,
       FragmentEventContext fragmentEventContext) {
+    this(taskName, graphRoot, fragmentEventContext, new AtomicInteger());
+  }
+
+  TaskExecutionContext(String taskName, Node graphRoot,
+      FragmentEventContext fragmentEventContext, AtomicInteger cancelledNodes) {
     this.taskName = taskName;
     this.currentNode = graphRoot;
     this.fragmentEventContext = fragmentEventContext;
+    this.cancelledNodes = cancelledNodes;
   }
 
   TaskExecutionContext(TaskExecutionContext context, Node currentNode) {
-    Fragment fragment = context.getFragmentEventContext().getFragmentEvent().getFragment();
+    // each subtask works on its own fork, so subtasks can be safely processed in parallel
+    Fragment fragment = context.getFragmentEventContext().getFragmentEvent().getFragment().fork();
     FragmentEvent fragmentEvent = new FragmentEvent(fragment);
     ClientRequest clientRequest = context.getFragmentEventContext().getClientRequest();
 
-    this.fragmentEventContext = new FragmentEventContext(fragmentEvent, clientRequest);
+    this.fragmentEventContext = new FragmentEventContext(fragmentEvent, clientRequest,
+        context.getFragmentEventContext().getDeadline(),
+        context.getFragmentEventContext().getRequestScope());
     this.currentNode = currentNode;
     this.taskName = context.taskName;
+    this.cancelledNodes = context.cancelledNodes;
+    this.deadlineExceeded = context.deadlineExceeded;
   }
 
   FragmentEventContext getFragmentEventContext() {
@@ -65,7 +86,17 @@ class TaskExecutionContext {
   FragmentContext fragmentContextInstance() {
     return new FragmentContext(
         fragmentEventContext.getFragmentEvent().getFragment(),
-        fragmentEventContext.getClientRequest());
+        fragmentEventContext.getClientRequest(),
+        getDeadline(),
+        fragmentEventContext.getRequestScope());
+  }
+
+  long remainingTimeMs() {
+    return FragmentContext.remainingTimeMs(getDeadline());
+  }
+
+  private long getDeadline() {
+    return deadlineExceeded ? FragmentContext.NO_DEADLINE : fragmentEventContext.getDeadline();
   }
 
   Node getCurrentNode() {
@@ -73,6 +104,9 @@ class TaskExecutionContext {
   }
 
   SingleSource<? extends FragmentResult> handleError(Throwable error) {
+    if (error instanceof DeadlineExceededException) {
+      return Single.just(handleDeadlineExceeded());
+    }
     if (isFatal(error)) {
       handleFatalError((NodeFatalException) error);
     } else {
@@ -82,6 +116,25 @@ class TaskExecutionContext {
     return Single.just(new FragmentResult(fragmentEvent.getFragment(), ERROR_TRANSITION, prepareErrorActionLog(error)));
   }
 
+  void handleCancellation() {
+    cancelledNodes.incrementAndGet();
+    LOGGER.debug("Node [{}] execution cancelled [{}].", currentNode.getId(),
+        fragmentEventContext.getFragmentEvent());
+  }
+
+  private FragmentResult handleDeadlineExceeded() {
+    FragmentEvent fragmentEvent = fragmentEventContext.getFragmentEvent();
+    LOGGER.warn("Processing deadline exceeded [{}], trying to process with the '{}' transition.",
+        fragmentEvent, TIMEOUT_TRANSITION);
+    deadlineExceeded = true;
+    fragmentEvent.setStatus(Status.FAILURE);
+    fragmentEvent.log(EventLogEntry.timeout(taskName, currentNode.getId()));
+    String transition = currentNode.next(TIMEOUT_TRANSITION).isPresent()
+        ? TIMEOUT_TRANSITION
+        : ERROR_TRANSITION;
+    return new FragmentResult(fragmentEvent.getFragment(), transition);
+  }
+
   private JsonObject prepareErrorActionLog(Throwable error){
     return new JsonObject()
         .put("error", error.getMessage());
@@ -102,21 +155,27 @@ class TaskExecutionContext {
     fragmentEvent.log(getEventLogEntry(error));
   }
 
-  TaskExecutionContext merge(TaskExecutionContext other) {
-    final FragmentEvent fragmentEvent1 = getFragmentEventContext().getFragmentEvent();
-    final FragmentEvent fragmentEvent2 = other.getFragmentEventContext().getFragmentEvent();
+  TaskExecutionContext merge(List<TaskExecutionContext> subtasks) {
+    final FragmentEvent fragmentEvent = getFragmentEventContext().getFragmentEvent();
 
     //reduce fragment body and payload
-    final Fragment fragment = fragmentEvent1.getFragment();
-    final Fragment fragment2 = fragmentEvent2.getFragment();
-    fragment.mergeInPayload(fragment2.getPayload());
-    fragment.setBody(fragment2.getBody());
+    fragmentEvent.getFragment().join(subtasks.stream()
+        .map(subtask -> subtask.getFragmentEventContext().getFragmentEvent().getFragment())
+        .collect(Collectors.toList()));
+
+    // fallback nodes of the composite node are processed without deadline too
+    subtaskDeadlineExceeded = !deadlineExceeded
+        && subtasks.stream().anyMatch(subtask -> subtask.deadlineExceeded);
+    deadlineExceeded |= subtaskDeadlineExceeded;
 
     //reduce status and logs
-    if (Status.FAILURE != fragmentEvent1.getStatus()) {
-      fragmentEvent1.setStatus(fragmentEvent2.getStatus());
-    }
-    fragmentEvent1.appendLog(fragmentEvent2.getLog());
+    subtasks.forEach(subtask -> {
+      FragmentEvent subtaskEvent = subtask.getFragmentEventContext().getFragmentEvent();
+      if (Status.FAILURE != fragmentEvent.getStatus()) {
+        fragmentEvent.setStatus(subtaskEvent.getStatus());
+      }
+      fragmentEvent.appendLog(subtaskEvent.getLog());
+    });
 
     return this;
   }
@@ -124,7 +183,11 @@ class TaskExecutionContext {
   FragmentResult toFragmentResult() {
     FragmentEvent fragmentEvent = fragmentEventContext.getFragmentEvent();
     Status status = fragmentEvent.getStatus();
-    String nextTransition = status.getDefaultTransition().orElse(null);
+    String nextTransition = status == Status.FAILURE && subtaskDeadlineExceeded
+        && currentNode.next(TIMEOUT_TRANSITION).isPresent()
+        ? TIMEOUT_TRANSITION
+        : status.getDefaultTransition().orElse(null);
+    subtaskDeadlineExceeded = false;
     FragmentResult result = new FragmentResult(fragmentEvent.getFragment(), nextTransition);
     if (status == Status.SUCCESS) {
       handleSuccess(result);
@@ -18,11 +18,32 @@ package io.knotx.fragments.engine.graph;
 import io.knotx.fragments.handler.api.domain.FragmentContext;
 import io.knotx.fragments.handler.api.domain.FragmentResult;
 import io.reactivex.Single;
+import java.util.Optional;
 
 public interface SingleNode extends Node {
 
   Single<FragmentResult> execute(FragmentContext fragmentContext);
 
+  /**
+   * Determines if the node operation never blocks the calling thread. Non-blocking nodes are
+   * executed directly on the event loop, all others are dispatched to a worker thread.
+   *
+   * @return <code>true</code> when the node operation is non-blocking
+   */
+  default boolean isNonBlocking() {
+    return false;
+  }
+
+  /**
+   * Name of the worker pool to which the blocking node operation is dispatched. When empty, the
+   * default Vert.x worker pool is used.
+   *
+   * @return worker pool name
+   */
+  default Optional<String> getWorkerPool() {
+    return Optional.empty();
+  }
+
   @Override
   default NodeType getType() {
     return NodeType.SINGLE;
@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2019 Knot.x Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.fragments.engine;
+
+import static io.knotx.fragments.engine.Nodes.nonBlockingSingle;
+import static io.knotx.fragments.engine.TestFunction.fatal;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.knotx.fragments.api.Fragment;
+import io.knotx.fragments.engine.graph.Node;
+import io.knotx.fragments.handler.api.domain.FragmentContext;
+import io.knotx.fragments.handler.api.domain.FragmentResult;
+import io.knotx.fragments.handler.api.exception.NodeFatalException;
+import io.knotx.server.api.context.ClientRequest;
+import io.reactivex.Single;
+import io.reactivex.exceptions.CompositeException;
+import io.vertx.core.json.JsonObject;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import io.vertx.reactivex.core.Vertx;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith(VertxExtension.class)
+class FragmentsEngineFatalErrorTest {
+
+  @Test
+  @DisplayName("Expect sibling fragments cancelled when fragment fails with fatal error.")
+  void expectSiblingFragmentsCancelled(VertxTestContext testContext, Vertx vertx)
+      throws Throwable {
+    // given
+    AtomicBoolean siblingDisposed = new AtomicBoolean();
+    Fragment fatalFragment = new Fragment("snippet", new JsonObject(), "fatal");
+    List<FragmentEventContextTaskAware> events = Arrays.asList(
+        initFragmentEventContextTaskAware(new Fragment("snippet", new JsonObject(), "sibling"),
+            fragmentContext -> Single.<FragmentResult>never()
+                .doOnDispose(() -> siblingDisposed.set(true))),
+        initFragmentEventContextTaskAware(fatalFragment, fatal(fatalFragment))
+    );
+    FragmentsEngine tested = new FragmentsEngine(vertx);
+
+    // when
+    Single<List<FragmentEvent>> result = tested.execute(events);
+
+    // then
+    result.subscribe(
+        onSuccess -> testContext.failNow(new IllegalStateException("Fatal error expected")),
+        error -> testContext.verify(() -> {
+          assertTrue(((CompositeException) error).getExceptions().stream()
+              .anyMatch(NodeFatalException.class::isInstance));
+          assertTrue(siblingDisposed.get());
+          assertEquals(1, tested.getMetrics().getCancelledNodeExecutions());
+          testContext.completeNow();
+        }));
+
+    assertTrue(testContext.awaitCompletion(5, TimeUnit.SECONDS));
+    if (testContext.failed()) {
+      throw testContext.causeOfFailure();
+    }
+  }
+
+  private FragmentEventContextTaskAware initFragmentEventContextTaskAware(Fragment fragment,
+      Function<FragmentContext, Single<FragmentResult>> operation) {
+    Node graphNode = nonBlockingSingle("id", operation);
+
+    return new FragmentEventContextTaskAware(new Task("task", graphNode),
+        new FragmentEventContext(new FragmentEvent(fragment), new ClientRequest()));
+  }
+
+}
@@ -76,6 +76,38 @@ class FragmentsEngineOrderTest {
     }), testContext);
   }
 
+  @Test
+  @DisplayName("Expect fragments without task and processed fragments in incoming order")
+  void expectCorrectOrderWhenMixedWithFragmentsWithoutTask(VertxTestContext testContext,
+      Vertx vertx) throws Throwable {
+    // given
+    List<FragmentEventContextTaskAware> events = Arrays.asList(
+        initFragmentEventContextTaskAware("first fragment", TIME_CONSUMING_OPERATION),
+        initFragmentEventContextWithoutTask("second fragment"),
+        initFragmentEventContextTaskAware("third fragment", SIMPLE_OPERATION),
+        initFragmentEventContextWithoutTask("fourth fragment")
+    );
+
+    // when
+    Single<List<FragmentEvent>> result = new FragmentsEngine(vertx).execute(events);
+
+    // then
+    verifyExecution(result, fragmentEvents -> testContext.verify(() -> {
+      assertEquals(4, fragmentEvents.size());
+      assertEquals("first fragment", fragmentEvents.get(0).getFragment().getBody());
+      assertEquals("second fragment", fragmentEvents.get(1).getFragment().getBody());
+      assertEquals("third fragment", fragmentEvents.get(2).getFragment().getBody());
+      assertEquals("fourth fragment", fragmentEvents.get(3).getFragment().getBody());
+    }), testContext);
+  }
+
+  private FragmentEventContextTaskAware initFragmentEventContextWithoutTask(String fragmentBody) {
+    Fragment fragment = new Fragment("static", new JsonObject(), fragmentBody);
+
+    return new FragmentEventContextTaskAware(new Task("_NOT_DEFINED"),
+        new FragmentEventContext(new FragmentEvent(fragment), new ClientRequest()));
+  }
+
   private FragmentEventContextTaskAware initFragmentEventContextTaskAware(
       String fragmentBody,
       Function<FragmentContext, Single<FragmentResult>> operation) {
@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2019 Knot.x Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.fragments.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.reactivex.Single;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.subjects.SingleSubject;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class InFlightLimiterTest {
+
+  @Test
+  @DisplayName("Expect source over the limit waits until the running one ends.")
+  void expectSourceQueuedOverLimit() {
+    // given
+    InFlightLimiter tested = new InFlightLimiter(1);
+    SingleSubject<String> first = SingleSubject.create();
+    SingleSubject<String> second = SingleSubject.create();
+
+    // when
+    tested.limit(first).subscribe();
+    tested.limit(second).subscribe();
+
+    // then
+    assertTrue(first.hasObservers());
+    assertFalse(second.hasObservers());
+    assertEquals(1, tested.getInFlightFragments());
+    assertEquals(1, tested.getQueuedFragments());
+
+    first.onSuccess("first");
+    assertTrue(second.hasObservers());
+    assertEquals(1, tested.getInFlightFragments());
+    assertEquals(0, tested.getQueuedFragments());
+    assertEquals(1, tested.getTotalQueuedFragments());
+
+    second.onSuccess("second");
+    assertEquals(0, tested.getInFlightFragments());
+  }
+
+  @Test
+  @DisplayName("Expect disposed queued source is never started.")
+  void expectDisposedSourceNotStarted() {
+    // given
+    InFlightLimiter tested = new InFlightLimiter(1);
+    SingleSubject<String> first = SingleSubject.create();
+    SingleSubject<String> second = SingleSubject.create();
+    tested.limit(first).subscribe();
+    Disposable queued = tested.limit(second).subscribe();
+
+    // when
+    queued.dispose();
+    first.onSuccess("first");
+
+    // then
+    assertFalse(second.hasObservers());
+    assertEquals(0, tested.getInFlightFragments());
+    assertEquals(0, tested.getQueuedFragments());
+  }
+
+  @Test
+  @DisplayName("Expect many queued synchronous sources are processed without stack overflow.")
+  void expectManyQueuedSynchronousSourcesProcessed() {
+    // given
+    int queuedSources = 100000;
+    InFlightLimiter tested = new InFlightLimiter(1);
+    SingleSubject<String> first = SingleSubject.create();
+    AtomicInteger completed = new AtomicInteger();
+    tested.limit(first).subscribe();
+    for (int i = 0; i < queuedSources; i++) {
+      tested.limit(Single.just("next")).subscribe(value -> completed.incrementAndGet());
+    }
+
+    // when
+    first.onSuccess("first");
+
+    // then
+    assertEquals(queuedSources, completed.get());
+    assertEquals(0, tested.getInFlightFragments());
+  }
+}
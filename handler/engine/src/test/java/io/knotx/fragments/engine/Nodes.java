@@ -65,6 +65,18 @@ interface Nodes {
     return node;
   }
 
+  static SingleNode nonBlockingSingle(String nodeId, Function<FragmentContext, Single<FragmentResult>> function) {
+    SingleNode node = single(nodeId, function);
+    when(node.isNonBlocking()).thenReturn(true);
+    return node;
+  }
+
+  static SingleNode singleInWorkerPool(String nodeId, String workerPool, Function<FragmentContext, Single<FragmentResult>> function) {
+    SingleNode node = single(nodeId, function);
+    when(node.getWorkerPool()).thenReturn(Optional.of(workerPool));
+    return node;
+  }
+
   static SingleNode single(String nodeId, Function<FragmentContext, Single<FragmentResult>> function, Map<String, Node> transitions) {
     SingleNode node = single(nodeId, function);
     transitions.forEach((key, value) -> when(node.next(matches(key)))
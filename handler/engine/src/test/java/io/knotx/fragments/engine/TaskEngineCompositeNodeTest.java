@@ -21,17 +21,21 @@ import static io.knotx.fragments.engine.Nodes.composite;
 import static io.knotx.fragments.engine.Nodes.single;
 import static io.knotx.fragments.engine.TestFunction.appendBody;
 import static io.knotx.fragments.engine.TestFunction.appendPayload;
+import static io.knotx.fragments.engine.TestFunction.delayed;
 import static io.knotx.fragments.engine.TestFunction.failure;
 import static io.knotx.fragments.engine.TestFunction.fatal;
 import static io.knotx.fragments.engine.TestFunction.success;
 import static io.knotx.fragments.engine.TestFunction.successWithNodeLog;
 import static io.knotx.fragments.engine.Transitions.onError;
+import static io.knotx.fragments.handler.api.domain.FragmentResult.TIMEOUT_TRANSITION;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
 
 import io.knotx.fragments.api.Fragment;
 import io.knotx.fragments.engine.FragmentEvent.Status;
 import io.knotx.fragments.engine.FragmentEventLogVerifier.Operation;
+import io.knotx.fragments.engine.graph.CompositeNode;
 import io.knotx.fragments.engine.graph.Node;
 import io.knotx.fragments.handler.api.exception.NodeFatalException;
 import io.knotx.server.api.context.ClientRequest;
@@ -44,6 +48,7 @@ import io.vertx.junit5.VertxTestContext;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import org.junit.jupiter.api.BeforeEach;
@@ -402,6 +407,49 @@ class TaskEngineCompositeNodeTest {
             fragmentEvent.getFragment().getPayload().containsKey("fallback")));
   }
 
+  @Test
+  @DisplayName("Expect payload entries of all parallel actions merged")
+  void expectPayloadOfAllParallelActionsMerged(VertxTestContext testContext, Vertx vertx)
+      throws Throwable {
+    // given
+    JsonObject taskAPayload = new JsonObject().put("key", "taskAOperation");
+    JsonObject taskBPayload = new JsonObject().put("key", "taskBOperation");
+
+    Node rootNode = composite(COMPOSITE_NODE_ID,
+        parallel(
+            single("A", delayed(200, appendPayload("A", taskAPayload))),
+            single("B", appendPayload("B", taskBPayload))));
+
+    // when
+    Single<FragmentEvent> result = new TaskEngine(vertx).start("task", rootNode, eventContext);
+
+    // then
+    verifyExecution(result, testContext,
+        fragmentEvent -> {
+          assertEquals(taskAPayload, fragmentEvent.getFragment().getPayload().getJsonObject("A"));
+          assertEquals(taskBPayload, fragmentEvent.getFragment().getPayload().getJsonObject("B"));
+        });
+  }
+
+  @Test
+  @DisplayName("Expect parallel actions merged in the order of actions, not the order of completion")
+  void expectParallelActionsMergedInDeclarationOrder(VertxTestContext testContext, Vertx vertx)
+      throws Throwable {
+    // given
+    Node rootNode = composite(COMPOSITE_NODE_ID,
+        parallel(
+            single("slow", delayed(200, appendPayload("key", "slow"))),
+            single("fast", appendPayload("key", "fast"))));
+
+    // when
+    Single<FragmentEvent> result = new TaskEngine(vertx).start("task", rootNode, eventContext);
+
+    // then
+    verifyExecution(result, testContext,
+        fragmentEvent -> assertEquals("fast",
+            fragmentEvent.getFragment().getPayload().getString("key")));
+  }
+
   @Test
   @DisplayName("Expect success operation applied when parallel processing ends with success")
   void expectSuccessAppliedAfterParallelProcessingSuccess(VertxTestContext testContext, Vertx vertx)
@@ -453,6 +501,54 @@ class TaskEngineCompositeNodeTest {
   }
 
   @SuppressWarnings("ResultOfMethodCallIgnored")
+  @Test
+  @DisplayName("Expect error fallback executed without deadline when subtask exceeds processing deadline")
+  void expectErrorFallbackWhenSubtaskDeadlineExceeded(VertxTestContext testContext, Vertx vertx)
+      throws Throwable {
+    // given
+    eventContext = new FragmentEventContext(new FragmentEvent(initialFragment),
+        new ClientRequest(), System.currentTimeMillis() + 100);
+    Node rootNode = composite(COMPOSITE_NODE_ID,
+        parallel(
+            single("slow", delayed(1000, appendBody(":slow")))),
+        null,
+        single("fallback", appendBody(":fallback")));
+
+    // when
+    Single<FragmentEvent> result = new TaskEngine(vertx).start("task", rootNode, eventContext);
+
+    // then
+    verifyExecution(result, testContext,
+        fragmentEvent -> {
+          assertEquals(INITIAL_BODY + ":fallback", fragmentEvent.getFragment().getBody());
+          assertEquals(Status.SUCCESS, fragmentEvent.getStatus());
+        });
+  }
+
+  @Test
+  @DisplayName("Expect timeout transition applied when subtask exceeds processing deadline")
+  void expectTimeoutTransitionWhenSubtaskDeadlineExceeded(VertxTestContext testContext,
+      Vertx vertx) throws Throwable {
+    // given
+    eventContext = new FragmentEventContext(new FragmentEvent(initialFragment),
+        new ClientRequest(), System.currentTimeMillis() + 100);
+    CompositeNode rootNode = composite(COMPOSITE_NODE_ID,
+        parallel(
+            single("slow", delayed(1000, appendBody(":slow")))),
+        null,
+        single("errorFallback", appendBody(":error")));
+    when(rootNode.next(TIMEOUT_TRANSITION))
+        .thenReturn(Optional.of(single("timeoutFallback", appendBody(":timeout"))));
+
+    // when
+    Single<FragmentEvent> result = new TaskEngine(vertx).start("task", rootNode, eventContext);
+
+    // then
+    verifyExecution(result, testContext,
+        fragmentEvent -> assertEquals(INITIAL_BODY + ":timeout",
+            fragmentEvent.getFragment().getBody()));
+  }
+
   private void verifyExecution(Single<FragmentEvent> result, VertxTestContext testContext,
       Consumer<FragmentEvent> successConsumer) throws Throwable {
     // execute
@@ -16,15 +16,24 @@
 package io.knotx.fragments.engine;
 
 import static io.knotx.fragments.engine.FragmentEventLogVerifier.verifyAllLogEntries;
+import static io.knotx.fragments.engine.Nodes.nonBlockingSingle;
 import static io.knotx.fragments.engine.Nodes.single;
+import static io.knotx.fragments.engine.Nodes.singleInWorkerPool;
 import static io.knotx.fragments.engine.TestFunction.appendBody;
+import static io.knotx.fragments.engine.TestFunction.appendThreadName;
+import static io.knotx.fragments.engine.TestFunction.appendWorkerThreadFlag;
+import static io.knotx.fragments.engine.TestFunction.delayed;
 import static io.knotx.fragments.engine.TestFunction.errorWithNodeLog;
 import static io.knotx.fragments.engine.TestFunction.failure;
 import static io.knotx.fragments.engine.TestFunction.success;
 import static io.knotx.fragments.engine.TestFunction.successWithNodeLog;
 import static io.knotx.fragments.engine.Transitions.onError;
 import static io.knotx.fragments.engine.Transitions.onSuccess;
+import static io.knotx.fragments.engine.Transitions.onTimeout;
+import static io.knotx.fragments.handler.api.domain.FragmentResult.SUCCESS_TRANSITION;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import io.knotx.fragments.api.Fragment;
 import io.knotx.fragments.engine.FragmentEvent.Status;
@@ -36,9 +45,12 @@ import io.knotx.fragments.handler.api.domain.FragmentResult;
 import io.knotx.server.api.context.ClientRequest;
 import io.reactivex.Single;
 import io.vertx.core.Vertx;
+import io.vertx.core.WorkerExecutor;
 import io.vertx.core.json.JsonObject;
 import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
+import java.util.Collections;
+import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -301,6 +313,179 @@ class TaskEngineSingleOperationTest {
         ));
   }
 
+  @Test
+  @DisplayName("Expect blocking operation is executed on a worker thread.")
+  void expectBlockingOperationOnWorkerThread(VertxTestContext testContext, Vertx vertx)
+      throws Throwable {
+    // given
+    SingleNode rootNode = single("first", appendWorkerThreadFlag("worker"));
+
+    // when
+    Single<FragmentEvent> result = new TaskEngine(vertx).start("task", rootNode, eventContext);
+
+    // then
+    verifyExecution(result, testContext,
+        event -> assertTrue(event.getFragment().getPayload().getBoolean("worker")));
+  }
+
+  @Test
+  @DisplayName("Expect non-blocking operation is not dispatched to a worker thread.")
+  void expectNonBlockingOperationNotOnWorkerThread(VertxTestContext testContext, Vertx vertx)
+      throws Throwable {
+    // given
+    SingleNode rootNode = nonBlockingSingle("first", appendWorkerThreadFlag("worker"));
+
+    // when
+    Single<FragmentEvent> result = new TaskEngine(vertx).start("task", rootNode, eventContext);
+
+    // then
+    verifyExecution(result, testContext,
+        event -> assertFalse(event.getFragment().getPayload().getBoolean("worker")));
+  }
+
+  @Test
+  @DisplayName("Expect non-blocking operation following blocking one is executed on the event loop.")
+  void expectNonBlockingOperationAfterBlockingOnEventLoop(VertxTestContext testContext,
+      Vertx vertx) throws Throwable {
+    // given
+    SingleNode rootNode = single("first", appendThreadName("blockingThread"), onSuccess(
+        nonBlockingSingle("second", appendThreadName("nonBlockingThread"))));
+
+    // when
+    Single<FragmentEvent> result = Single.<FragmentEvent>create(emitter -> vertx.runOnContext(
+        v -> new TaskEngine(vertx).start("task", rootNode, eventContext)
+            .subscribe(emitter::onSuccess, emitter::onError)));
+
+    // then
+    verifyExecution(result, testContext,
+        event -> {
+          JsonObject payload = event.getFragment().getPayload();
+          assertTrue(payload.getString("blockingThread").startsWith("vert.x-worker-thread"));
+          assertTrue(payload.getString("nonBlockingThread").startsWith("vert.x-eventloop-thread"));
+        });
+  }
+
+  @Test
+  @DisplayName("Expect blocking operation is executed with the configured worker pool.")
+  void expectBlockingOperationInConfiguredWorkerPool(VertxTestContext testContext, Vertx vertx)
+      throws Throwable {
+    // given
+    WorkerExecutor workerPool = vertx.createSharedWorkerExecutor("custom-pool");
+    SingleNode rootNode = singleInWorkerPool("first", "custom-pool", appendThreadName("thread"));
+
+    // when
+    Single<FragmentEvent> result = new TaskEngine(vertx,
+        Collections.singletonMap("custom-pool", workerPool)).start("task", rootNode, eventContext);
+
+    // then
+    verifyExecution(result, testContext,
+        event -> assertTrue(
+            event.getFragment().getPayload().getString("thread").startsWith("custom-pool")));
+  }
+
+  @Test
+  @DisplayName("Expect blocking operation is executed with the default worker pool when the configured one is missing.")
+  void expectBlockingOperationInDefaultWorkerPoolWhenPoolMissing(VertxTestContext testContext,
+      Vertx vertx) throws Throwable {
+    // given
+    SingleNode rootNode = singleInWorkerPool("first", "missing-pool", appendThreadName("thread"));
+
+    // when
+    Single<FragmentEvent> result = new TaskEngine(vertx).start("task", rootNode, eventContext);
+
+    // then
+    verifyExecution(result, testContext,
+        event -> assertTrue(event.getFragment().getPayload().getString("thread")
+            .startsWith("vert.x-worker-thread")));
+  }
+
+  @Test
+  @DisplayName("Expect long chain of synchronous operations is executed without stack overflow.")
+  void expectLongChainOfOperationsExecuted(VertxTestContext testContext, Vertx vertx)
+      throws Throwable {
+    // given
+    int chainLength = 10000;
+    Node rootNode = null;
+    for (int i = 0; i < chainLength; i++) {
+      rootNode = incrementingNode("node-" + i, rootNode);
+    }
+
+    // when
+    Single<FragmentEvent> result = new TaskEngine(vertx).start("task", rootNode, eventContext);
+
+    // then
+    verifyExecution(result, testContext,
+        event -> assertEquals(chainLength, event.getFragment().getPayloadValue("counter")));
+  }
+
+  private SingleNode incrementingNode(String id, Node next) {
+    return new SingleNode() {
+      @Override
+      public String getId() {
+        return id;
+      }
+
+      @Override
+      public Optional<Node> next(String transition) {
+        return SUCCESS_TRANSITION.equals(transition) ? Optional.ofNullable(next) : Optional.empty();
+      }
+
+      @Override
+      public Single<FragmentResult> execute(FragmentContext fragmentContext) {
+        Fragment fragment = fragmentContext.getFragment();
+        Object counter = fragment.getPayloadValue("counter");
+        fragment.appendPayload("counter", counter == null ? 1 : (Integer) counter + 1);
+        return Single.just(new FragmentResult(fragment, SUCCESS_TRANSITION));
+      }
+
+      @Override
+      public boolean isNonBlocking() {
+        return true;
+      }
+    };
+  }
+
+  @Test
+  @DisplayName("Expect _timeout transition applied when operation exceeds processing deadline.")
+  void expectTimeoutTransitionWhenDeadlineExceeded(VertxTestContext testContext, Vertx vertx)
+      throws Throwable {
+    // given
+    eventContext = new FragmentEventContext(new FragmentEvent(initialFragment),
+        new ClientRequest(), System.currentTimeMillis() + 100);
+    SingleNode rootNode = single("slow", delayed(1000, appendBody(":slow")),
+        onTimeout(single("fallback", appendBody(":fallback"))));
+
+    // when
+    Single<FragmentEvent> result = new TaskEngine(vertx).start("task", rootNode, eventContext);
+
+    // then
+    verifyExecution(result, testContext,
+        event -> {
+          assertEquals(INITIAL_BODY + ":fallback", event.getFragment().getBody());
+          assertEquals(Status.SUCCESS, event.getStatus());
+        });
+  }
+
+  @Test
+  @DisplayName("Expect operation not executed and failure status when deadline already passed.")
+  void expectOperationSkippedWhenDeadlinePassed(VertxTestContext testContext, Vertx vertx)
+      throws Throwable {
+    // given
+    eventContext = new FragmentEventContext(new FragmentEvent(initialFragment),
+        new ClientRequest(), System.currentTimeMillis() - 1);
+    SingleNode rootNode = single("first", appendBody(":updated"));
+
+    // when
+    Single<FragmentEvent> result = new TaskEngine(vertx).start("task", rootNode, eventContext);
+
+    // then
+    verifyExecution(result, testContext,
+        event -> {
+          assertEquals(initialFragment, event.getFragment());
+          assertEquals(Status.FAILURE, event.getStatus());
+        });
+  }
+
   private void verifyExecution(Single<FragmentEvent> result, VertxTestContext testContext,
       Consumer<FragmentEvent> successConsumer) throws Throwable {
     // execute
@@ -23,6 +23,7 @@ import io.knotx.fragments.handler.api.domain.FragmentContext;
 import io.knotx.fragments.handler.api.domain.FragmentResult;
 import io.knotx.fragments.handler.api.exception.NodeFatalException;
 import io.reactivex.Single;
+import io.vertx.core.Context;
 import io.vertx.core.json.JsonObject;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
@@ -103,6 +104,29 @@ interface TestFunction extends Function<FragmentContext, Single<FragmentResult>>
     };
   }
 
+  static TestFunction appendWorkerThreadFlag(String payloadKey) {
+    return fragmentContext -> {
+      Fragment fragment = fragmentContext.getFragment();
+      fragment.appendPayload(payloadKey, Context.isOnWorkerThread());
+      FragmentResult result = new FragmentResult(fragment, SUCCESS_TRANSITION);
+      return Single.just(result);
+    };
+  }
+
+  static TestFunction appendThreadName(String payloadKey) {
+    return fragmentContext -> {
+      Fragment fragment = fragmentContext.getFragment();
+      fragment.appendPayload(payloadKey, Thread.currentThread().getName());
+      FragmentResult result = new FragmentResult(fragment, SUCCESS_TRANSITION);
+      return Single.just(result);
+    };
+  }
+
+  static TestFunction delayed(long delayInMillis, TestFunction function) {
+    return fragmentContext -> function.apply(fragmentContext)
+        .delay(delayInMillis, TimeUnit.MILLISECONDS);
+  }
+
   static TestFunction appendBody(String postfix) {
     return fragmentContext -> {
       Fragment fragment = fragmentContext.getFragment();
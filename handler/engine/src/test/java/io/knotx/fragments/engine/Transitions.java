@@ -17,6 +17,7 @@ package io.knotx.fragments.engine;
 
 import static io.knotx.fragments.handler.api.domain.FragmentResult.ERROR_TRANSITION;
 import static io.knotx.fragments.handler.api.domain.FragmentResult.SUCCESS_TRANSITION;
+import static io.knotx.fragments.handler.api.domain.FragmentResult.TIMEOUT_TRANSITION;
 
 import io.knotx.fragments.engine.graph.Node;
 import java.util.Collections;
@@ -32,4 +33,8 @@ public interface Transitions {
     return Collections.singletonMap(ERROR_TRANSITION, node);
   }
 
+  static Map<String, Node> onTimeout(Node node) {
+    return Collections.singletonMap(TIMEOUT_TRANSITION, node);
+  }
+
 }